@@ -13,6 +13,7 @@ const duration = __ENV.DURATION || "30s";
 export const options = {
   vus,
   duration,
+  summaryTrendStats: ["avg", "min", "med", "max", "p(90)", "p(95)", "p(99)"],
   thresholds: {
     http_req_failed: ["rate<0.01"],
     http_req_duration: ["p(95)<1000"],
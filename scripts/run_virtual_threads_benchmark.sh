@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Compares platform-thread (default) and virtual-thread request execution.
+# Starts the application jar once per mode, drives it with k6 and records
+# jdk.VirtualThreadPinned events with JFR. Virtual threads require JDK 21+.
+
+JAR_FILE="${JAR_FILE:-target/spring-petclinic-4.0.0-SNAPSHOT.jar}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+ENDPOINT="${ENDPOINT:-/owners}"
+VUS="${VUS:-400}"
+DURATION="${DURATION:-60s}"
+THINK_TIME="${THINK_TIME:-0}"
+OUT_DIR="${OUT_DIR:-fase_5/benchmark_results/virtual_threads}"
+
+K6_SCRIPT="scripts/benchmark/owners-search.js"
+
+for tool in k6 java curl; do
+	if ! command -v "${tool}" >/dev/null 2>&1; then
+		echo "${tool} is required."
+		exit 1
+	fi
+done
+
+if [[ ! -f "${JAR_FILE}" ]]; then
+	echo "Application jar not found: ${JAR_FILE}. Build it first with: ./mvnw package -DskipTests"
+	exit 1
+fi
+
+mkdir -p "${OUT_DIR}"
+
+APP_PID=""
+
+stop_app() {
+	if [[ -n "${APP_PID}" ]] && kill -0 "${APP_PID}" 2>/dev/null; then
+		kill "${APP_PID}"
+		wait "${APP_PID}" 2>/dev/null || true
+	fi
+	APP_PID=""
+}
+
+trap stop_app EXIT
+
+run_case() {
+	local label="$1"
+	local profiles="$2"
+	local jfr_file="${OUT_DIR}/${label}.jfr"
+
+	echo ""
+	echo "Starting application (${label})"
+	java "-XX:StartFlightRecording=filename=${jfr_file},jdk.VirtualThreadPinned#enabled=true,jdk.VirtualThreadPinned#threshold=20ms" \
+		-jar "${JAR_FILE}" --server.port="${PORT}" --spring.profiles.active="${profiles}" \
+		>"${OUT_DIR}/${label}.log" 2>&1 &
+	APP_PID=$!
+
+	for _ in $(seq 1 60); do
+		if curl -fs "${BASE_URL}/actuator/health" >/dev/null 2>&1; then
+			break
+		fi
+		sleep 1
+	done
+
+	echo "Running k6 against ${ENDPOINT} with ${VUS} VUs for ${DURATION}"
+	BASE_URL="${BASE_URL}" \
+	ENDPOINT="${ENDPOINT}" \
+	VUS="${VUS}" \
+	DURATION="${DURATION}" \
+	THINK_TIME="${THINK_TIME}" \
+	k6 run "${K6_SCRIPT}" --summary-export "${OUT_DIR}/${label}.json" || true
+
+	stop_app
+}
+
+run_case "platform" "default"
+run_case "virtual" "virtual-threads"
+
+echo ""
+echo "Benchmark artifacts generated in ${OUT_DIR}"
+
+if command -v jq >/dev/null 2>&1; then
+	echo ""
+	printf "%-10s %12s %12s %12s\n" "mode" "req/s" "p95 (ms)" "p99 (ms)"
+	for label in platform virtual; do
+		file="${OUT_DIR}/${label}.json"
+		printf "%-10s %12.1f %12.1f %12.1f\n" "${label}" \
+			"$(jq -r '.metrics.http_reqs.rate' "${file}")" \
+			"$(jq -r '.metrics.http_req_duration["p(95)"]' "${file}")" \
+			"$(jq -r '.metrics.http_req_duration["p(99)"]' "${file}")"
+	done
+else
+	echo "jq not found. Install jq to print the comparison from the JSON artifacts."
+fi
+
+if command -v jfr >/dev/null 2>&1; then
+	pinned="$(jfr print --events jdk.VirtualThreadPinned "${OUT_DIR}/virtual.jfr" | grep -c "jdk.VirtualThreadPinned" || true)"
+	echo ""
+	echo "Pinned virtual threads (>= 20ms): ${pinned}"
+	echo "Details: jfr print --events jdk.VirtualThreadPinned ${OUT_DIR}/virtual.jfr"
+fi
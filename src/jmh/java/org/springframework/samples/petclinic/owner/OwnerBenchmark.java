@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.lang.reflect.Proxy;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+/**
+ * Micro-benchmarks for the per-request lookups and validations of the owner aggregate.
+ * The owner holds {@code petCount} saved pets; the lookups target the last pet, which is
+ * the worst case for a scan. Run with the {@code gc} profiler to see the allocation rate
+ * next to the throughput.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerBenchmark {
+
+	private static final List<String> TYPE_NAMES = List.of("bird", "cat", "dog", "hamster", "lizard", "snake");
+
+	/**
+	 * Pets per owner: a typical household, a large family and a breeder or shelter.
+	 */
+	@Param({ "2", "20", "500" })
+	public int petCount;
+
+	private Owner owner;
+
+	private Integer lastPetId;
+
+	private String lastPetName;
+
+	private Pet editedPet;
+
+	private Pet newPet;
+
+	private PetFinderService petFinderService;
+
+	private PetValidationService petValidationService;
+
+	private PetTypeFormatter petTypeFormatter;
+
+	@Setup
+	public void setup() {
+		List<PetType> types = TYPE_NAMES.stream().map(OwnerBenchmark::petType).toList();
+		this.owner = new Owner();
+		this.owner.setId(1);
+		for (int i = 1; i <= this.petCount; i++) {
+			Pet pet = new Pet();
+			pet.setName("Pet " + i);
+			pet.setBirthDate(LocalDate.of(2015, 1, 1).plusDays(i));
+			pet.setType(types.get(i % types.size()));
+			this.owner.addPet(pet);
+			pet.setId(i);
+		}
+		this.lastPetId = this.petCount;
+		this.lastPetName = "PET " + this.petCount;
+
+		this.editedPet = new Pet();
+		this.editedPet.setId(this.petCount);
+		this.editedPet.setName("Pet " + this.petCount);
+		this.editedPet.setBirthDate(LocalDate.of(2020, 6, 1));
+		this.newPet = new Pet();
+		this.newPet.setName("Newcomer");
+		this.newPet.setBirthDate(LocalDate.of(2024, 6, 1));
+
+		this.petFinderService = new PetFinderService();
+		this.petValidationService = new PetValidationService();
+		PetTypeRepository repository = (PetTypeRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { PetTypeRepository.class }, (proxy, method, args) -> types);
+		this.petTypeFormatter = new PetTypeFormatter(new PetTypeRegistry(repository));
+	}
+
+	@Benchmark
+	public Pet ownerGetPetById() {
+		return this.owner.getPet(this.lastPetId);
+	}
+
+	@Benchmark
+	public Pet ownerGetPetByName() {
+		return this.owner.getPet(this.lastPetName, true);
+	}
+
+	@Benchmark
+	public Optional<Pet> finderFindPetById() {
+		return this.petFinderService.findPetById(this.owner.getPets(), this.lastPetId);
+	}
+
+	@Benchmark
+	public Optional<Pet> finderFindPetByName() {
+		return this.petFinderService.findPetByName(this.owner.getPets(), this.lastPetName, false);
+	}
+
+	@Benchmark
+	public Errors validateNewPet() {
+		Errors errors = new BeanPropertyBindingResult(this.newPet, "pet");
+		this.petValidationService.validatePet(this.newPet, this.owner, errors);
+		return errors;
+	}
+
+	@Benchmark
+	public Errors validateEditedPet() {
+		Errors errors = new BeanPropertyBindingResult(this.editedPet, "pet");
+		this.petValidationService.validatePet(this.editedPet, this.owner, errors);
+		return errors;
+	}
+
+	@Benchmark
+	public PetType parsePetType() throws ParseException {
+		return this.petTypeFormatter.parse("snake", Locale.ENGLISH);
+	}
+
+	private static PetType petType(String name) {
+		PetType type = new PetType();
+		type.setId(TYPE_NAMES.indexOf(name) + 1);
+		type.setName(name);
+		return type;
+	}
+
+}
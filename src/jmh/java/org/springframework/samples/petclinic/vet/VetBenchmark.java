@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Micro-benchmark for {@link Vet#getSpecialties()}, which the vet directory calls once
+ * per vet on every render. {@code vetCount} vets with {@code specialtyCount} specialties
+ * each stand for one page of the directory.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VetBenchmark {
+
+	@Param({ "5", "100" })
+	public int vetCount;
+
+	@Param({ "0", "3", "10" })
+	public int specialtyCount;
+
+	private List<Vet> vets;
+
+	@Setup
+	public void setup() {
+		List<Specialty> specialties = new ArrayList<>();
+		for (int i = 0; i < this.specialtyCount; i++) {
+			Specialty specialty = new Specialty();
+			specialty.setId(i + 1);
+			// Reverse order, so that sorting has work to do
+			specialty.setName("specialty-" + (char) ('z' - i));
+			specialties.add(specialty);
+		}
+		this.vets = new ArrayList<>();
+		for (int i = 0; i < this.vetCount; i++) {
+			Vet vet = new Vet();
+			vet.setId(i + 1);
+			vet.setFirstName("First" + i);
+			vet.setLastName("Last" + i);
+			specialties.forEach(vet::addSpecialty);
+			this.vets.add(vet);
+		}
+	}
+
+	@Benchmark
+	public void renderSpecialties(Blackhole blackhole) {
+		for (Vet vet : this.vets) {
+			for (Specialty specialty : vet.getSpecialties()) {
+				blackhole.consume(specialty.getName());
+			}
+		}
+	}
+
+}
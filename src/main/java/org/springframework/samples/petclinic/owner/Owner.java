@@ -16,21 +16,33 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.samples.petclinic.model.Person;
 import org.springframework.util.Assert;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.NotBlank;
 
@@ -45,9 +57,29 @@ import jakarta.validation.constraints.NotBlank;
  * @author Wick Dynex
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owners")
 @Table(name = "owners")
+@NamedEntityGraphs({
+		@NamedEntityGraph(name = Owner.WITH_PETS,
+				attributeNodes = @NamedAttributeNode(value = "pets", subgraph = "pet"),
+				subgraphs = @NamedSubgraph(name = "pet", attributeNodes = @NamedAttributeNode("type"))),
+		@NamedEntityGraph(name = Owner.WITH_PETS_AND_VISITS,
+				attributeNodes = @NamedAttributeNode(value = "pets", subgraph = "pet"),
+				subgraphs = @NamedSubgraph(name = "pet",
+						attributeNodes = { @NamedAttributeNode("type"), @NamedAttributeNode("visits") })) })
 public class Owner extends Person {
 
+	/**
+	 * Fetch plan loading the owner with its pets and their types.
+	 */
+	public static final String WITH_PETS = "Owner.pets";
+
+	/**
+	 * Fetch plan loading the owner with its pets, their types and their visits.
+	 */
+	public static final String WITH_PETS_AND_VISITS = "Owner.petsAndVisits";
+
 	@Column
 	@NotBlank
 	private String address;
@@ -61,11 +93,22 @@ public class Owner extends Person {
 	@Pattern(regexp = "\\d{10}", message = "{telephone.invalid}")
 	private String telephone;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	// Bumped on every update, and when pets are added, for conditional GETs
+	@Version
+	private Integer version;
+
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owner-pets")
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "owner_id")
 	@OrderBy("name")
 	private final List<Pet> pets = new ArrayList<>();
 
+	/**
+	 * Lookup index over {@link #pets}, built on first lookup. Kept up to date when a pet
+	 * is added or renamed, and rebuilt when Hibernate swaps or resizes the collection.
+	 */
+	private transient PetIndex petIndex;
+
 	public String getAddress() {
 		return this.address;
 	}
@@ -97,12 +140,14 @@ public class Owner extends Person {
 	public void addPet(Pet pet) {
 		if (pet.isNew()) {
 			getPets().add(pet);
+			if (this.petIndex != null && this.petIndex.covers(getPets(), 1)) {
+				this.petIndex.add(pet, this);
+			}
 		}
 	}
 
 	/**
 	 * Return the Pet with the given name, or null if none found for this Owner.
-	 * Refactored to use Streams for better readability and performance.
 	 * @param name to test
 	 * @return the Pet with the given name, or null if no such Pet exists for this Owner
 	 */
@@ -111,8 +156,7 @@ public class Owner extends Person {
 	}
 
 	/**
-	 * Return the Pet with the given id, or null if none found for this Owner. Refactored
-	 * to use Streams for better readability and performance.
+	 * Return the Pet with the given id, or null if none found for this Owner.
 	 * @param id to test
 	 * @return the Pet with the given id, or null if no such Pet exists for this Owner
 	 */
@@ -121,16 +165,11 @@ public class Owner extends Person {
 			return null;
 		}
 
-		return getPets().stream()
-			.filter(pet -> !pet.isNew())
-			.filter(pet -> Objects.equals(pet.getId(), id))
-			.findFirst()
-			.orElse(null);
+		return petIndex().findById(id);
 	}
 
 	/**
 	 * Return the Pet with the given name, or null if none found for this Owner.
-	 * Refactored to use Streams for better readability and performance.
 	 * @param name to test
 	 * @param ignoreNew whether to ignore new pets (pets that are not saved yet)
 	 * @return the Pet with the given name, or null if no such Pet exists for this Owner
@@ -140,11 +179,38 @@ public class Owner extends Person {
 			return null;
 		}
 
-		return getPets().stream()
-			.filter(pet -> name.equalsIgnoreCase(pet.getName()))
-			.filter(pet -> !ignoreNew || !pet.isNew())
-			.findFirst()
-			.orElse(null);
+		Pet pet = petIndex().findByName(name);
+		return (pet == null || (ignoreNew && pet.isNew())) ? null : pet;
+	}
+
+	/**
+	 * Return a Pet with the given name other than the given Pet, or null if none found
+	 * for this Owner. The given Pet may be an instance in {@link #getPets()} or a copy
+	 * with the same id.
+	 * @param name to test
+	 * @param pet the Pet to disregard
+	 * @return another Pet with the given name, or null if no such Pet exists for this
+	 * Owner
+	 */
+	public Pet getOtherPet(String name, Pet pet) {
+		if (name == null) {
+			return null;
+		}
+		return petIndex().findOtherByName(name, pet);
+	}
+
+	void petRenamed(Pet pet, String oldName) {
+		if (this.petIndex != null) {
+			this.petIndex.rename(pet, oldName);
+		}
+	}
+
+	private PetIndex petIndex() {
+		List<Pet> pets = getPets();
+		if (this.petIndex == null || !this.petIndex.covers(pets, 0)) {
+			this.petIndex = PetIndex.of(pets, this);
+		}
+		return this.petIndex;
 	}
 
 	@Override
@@ -176,4 +242,141 @@ public class Owner extends Person {
 		pet.addVisit(visit);
 	}
 
+	/**
+	 * Pets by id and by lower-cased name, the pet indexed first winning a name shared by
+	 * several pets; such names are remembered as shared. Pets that are not saved yet are
+	 * only indexed by name, and by id once a lookup by id misses: they get their id when
+	 * they are persisted.
+	 */
+	private static final class PetIndex {
+
+		private final List<Pet> pets;
+
+		private int size;
+
+		private final Map<Integer, Pet> byId;
+
+		private final Map<String, Pet> byName;
+
+		private final Set<String> sharedNames = new HashSet<>();
+
+		private final List<Pet> unsaved = new ArrayList<>();
+
+		private PetIndex(List<Pet> pets) {
+			this.pets = pets;
+			this.byId = new HashMap<>(Math.max(16, pets.size() * 2));
+			this.byName = new HashMap<>(Math.max(16, pets.size() * 2));
+		}
+
+		static PetIndex of(List<Pet> pets, Owner owner) {
+			PetIndex index = new PetIndex(pets);
+			for (Pet pet : pets) {
+				index.add(pet, owner);
+			}
+			return index;
+		}
+
+		/**
+		 * Whether the index is over the given pets, short of the given number of pets
+		 * just added to them.
+		 */
+		boolean covers(List<Pet> pets, int added) {
+			return this.pets == pets && this.size + added == pets.size();
+		}
+
+		void add(Pet pet, Owner owner) {
+			this.size++;
+			if (pet.isNew()) {
+				this.unsaved.add(pet);
+			}
+			else {
+				this.byId.putIfAbsent(pet.getId(), pet);
+			}
+			indexName(pet);
+			pet.indexedBy(owner);
+		}
+
+		void rename(Pet pet, String oldName) {
+			if (oldName != null) {
+				String oldKey = key(oldName);
+				if (this.byName.remove(oldKey, pet) || this.sharedNames.contains(oldKey)) {
+					// other pets may hold the old name too; renames are rare enough to look
+					Pet first = null;
+					int holders = 0;
+					for (Pet other : this.pets) {
+						if (other != pet && other.getName() != null && oldKey.equals(key(other.getName()))) {
+							first = (first != null) ? first : other;
+							holders++;
+						}
+					}
+					if (first != null) {
+						this.byName.putIfAbsent(oldKey, first);
+					}
+					if (holders < 2) {
+						this.sharedNames.remove(oldKey);
+					}
+				}
+			}
+			indexName(pet);
+		}
+
+		Pet findById(Integer id) {
+			Pet pet = this.byId.get(id);
+			if (pet == null && !this.unsaved.isEmpty()) {
+				promoteSaved();
+				pet = this.byId.get(id);
+			}
+			return pet;
+		}
+
+		Pet findByName(String name) {
+			return this.byName.get(key(name));
+		}
+
+		Pet findOtherByName(String name, Pet pet) {
+			String key = key(name);
+			Pet found = this.byName.get(key);
+			if (found == null || !isSame(found, pet)) {
+				return found;
+			}
+			if (this.sharedNames.contains(key)) {
+				for (Pet other : this.pets) {
+					if (!isSame(other, pet) && other.getName() != null && key.equals(key(other.getName()))) {
+						return other;
+					}
+				}
+			}
+			return null;
+		}
+
+		private void indexName(Pet pet) {
+			if (pet.getName() != null) {
+				String key = key(pet.getName());
+				Pet holder = this.byName.putIfAbsent(key, pet);
+				if (holder != null && holder != pet) {
+					this.sharedNames.add(key);
+				}
+			}
+		}
+
+		private static boolean isSame(Pet pet, Pet other) {
+			return pet == other || (pet.getId() != null && pet.getId().equals(other.getId()));
+		}
+
+		private void promoteSaved() {
+			for (int i = this.unsaved.size() - 1; i >= 0; i--) {
+				Pet pet = this.unsaved.get(i);
+				if (!pet.isNew()) {
+					this.unsaved.remove(i);
+					this.byId.putIfAbsent(pet.getId(), pet);
+				}
+			}
+		}
+
+		private static String key(String name) {
+			return name.toLowerCase(Locale.ROOT);
+		}
+
+	}
+
 }
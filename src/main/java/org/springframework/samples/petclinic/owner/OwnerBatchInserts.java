@@ -0,0 +1,34 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+/**
+ * Batched JDBC inserts for {@link OwnerRepository}.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public interface OwnerBatchInserts {
+
+	/**
+	 * Insert the given new owners as one JDBC batch and their pets as a second one. The
+	 * generated ids are set on the owners; the pets keep a {@code null} id.
+	 * @param owners the owners to insert, each with the pets to insert for it
+	 */
+	void insertOwners(List<Owner> owners);
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * {@link OwnerBatchInserts} using plain JDBC batching. Owner ids come from identity
+ * columns, which keeps Hibernate from batching the inserts, so the owners are inserted
+ * in one batch that returns the generated keys and their pets in a second one. New rows
+ * cannot be stale in the second-level cache, so nothing has to be evicted.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+class OwnerBatchInsertsImpl implements OwnerBatchInserts {
+
+	private static final String INSERT_OWNER = """
+			INSERT INTO owners (first_name, last_name, address, city, telephone)
+			VALUES (:firstName, :lastName, :address, :city, :telephone)
+			""";
+
+	private static final String INSERT_PET = """
+			INSERT INTO pets (name, birth_date, type_id, owner_id) VALUES (:name, :birthDate, :typeId, :ownerId)
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	OwnerBatchInsertsImpl(DataSource dataSource) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	@Override
+	public void insertOwners(List<Owner> owners) {
+		if (owners.isEmpty()) {
+			return;
+		}
+		SqlParameterSource[] ownerBatch = owners.stream()
+			.map(owner -> new MapSqlParameterSource().addValue("firstName", owner.getFirstName())
+				.addValue("lastName", owner.getLastName())
+				.addValue("address", owner.getAddress())
+				.addValue("city", owner.getCity())
+				.addValue("telephone", owner.getTelephone()))
+			.toArray(SqlParameterSource[]::new);
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		this.jdbcTemplate.batchUpdate(INSERT_OWNER, ownerBatch, keyHolder);
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		if (keys.size() != owners.size()) {
+			throw new DataRetrievalFailureException(
+					"Expected " + owners.size() + " generated owner ids but got " + keys.size());
+		}
+
+		List<SqlParameterSource> petBatch = new ArrayList<>();
+		for (int i = 0; i < owners.size(); i++) {
+			Owner owner = owners.get(i);
+			owner.setId(generatedId(keys.get(i)));
+			for (Pet pet : owner.getPets()) {
+				petBatch.add(new MapSqlParameterSource().addValue("name", pet.getName())
+					.addValue("birthDate", pet.getBirthDate())
+					.addValue("typeId", pet.getType().getId())
+					.addValue("ownerId", owner.getId()));
+			}
+		}
+		if (!petBatch.isEmpty()) {
+			this.jdbcTemplate.batchUpdate(INSERT_PET, petBatch.toArray(SqlParameterSource[]::new));
+		}
+	}
+
+	/**
+	 * PostgreSQL returns the whole row and H2 the identity column, both found under
+	 * {@code id} as the key maps are case-insensitive; MySQL only returns a
+	 * {@code GENERATED_KEY} column.
+	 */
+	private static int generatedId(Map<String, Object> key) {
+		Object id = key.containsKey("id") ? key.get("id") : key.values().iterator().next();
+		return ((Number) id).intValue();
+	}
+
+}
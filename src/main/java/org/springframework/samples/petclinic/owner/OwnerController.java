@@ -17,9 +17,12 @@ package org.springframework.samples.petclinic.owner;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Function;
 
-import org.springframework.data.domain.Page;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.ScrollPosition.Direction;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -30,7 +33,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import jakarta.validation.Valid;
 
@@ -52,13 +55,18 @@ class OwnerController {
 
 	private static final String OWNERS_FIND_OWNERS = "owners/findOwners";
 
+	private static final String OWNERS_LIST = "owners/ownersList";
+
 	private final OwnerRepository owners;
 
 	private final OwnerSearchService ownerSearchService;
 
-	public OwnerController(OwnerRepository owners, OwnerSearchService ownerSearchService) {
+	private final OwnerLoader ownerLoader;
+
+	public OwnerController(OwnerRepository owners, OwnerSearchService ownerSearchService, OwnerLoader ownerLoader) {
 		this.owners = owners;
 		this.ownerSearchService = ownerSearchService;
+		this.ownerLoader = ownerLoader;
 	}
 
 	@InitBinder
@@ -68,10 +76,7 @@ class OwnerController {
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable(name = "ownerId", required = false) Integer ownerId) {
-		return ownerId == null ? new Owner()
-				: this.owners.findById(ownerId)
-					.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
-							+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
+		return ownerId == null ? new Owner() : this.ownerLoader.load(ownerId, OwnerLoader.Graph.OWNER);
 	}
 
 	@GetMapping("/owners/new")
@@ -87,6 +92,7 @@ class OwnerController {
 		}
 
 		this.owners.save(owner);
+		this.ownerSearchService.onOwnerSaved(owner);
 		redirectAttributes.addFlashAttribute("message", "New Owner Created");
 		return REDIRECT_OWNERS + owner.getId();
 	}
@@ -96,12 +102,28 @@ class OwnerController {
 		return OWNERS_FIND_OWNERS;
 	}
 
-	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	/**
+	 * Owners list. Reads {@link SingleOwner} projections, only the columns the list
+	 * shows, rather than {@link Owner} entities; a single match redirects to its details.
+	 * {@code /only/owners} is kept as an alias for existing links and benchmarks.
+	 */
+	@GetMapping({ "/owners", "/only/owners" })
+	public String processFindForm(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(required = false) String after, @RequestParam(required = false) String before, Owner owner,
+			BindingResult result, Model model) {
+
+		if (after != null || before != null) {
+			OwnerCursor cursor = decodeCursor((after != null) ? after : before);
+			if (cursor != null) {
+				return processKeysetSearch(owner.getLastName(), cursor,
+						(after != null) ? Direction.FORWARD : Direction.BACKWARD, result, model);
+			}
+			// Cursors are user-editable: a malformed one falls back to the first page
+			page = 1;
+		}
 
 		// Use the new search service (Strangler Fig Pattern)
-		OwnerSearchService.SearchResult<Owner> searchResult = ownerSearchService.findOwnersByLastName(page,
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = ownerSearchService.findSingleOwnersByLastName(page,
 				owner.getLastName());
 
 		switch (searchResult.getSearchType()) {
@@ -110,50 +132,93 @@ class OwnerController {
 				return OWNERS_FIND_OWNERS;
 
 			case SINGLE_RESULT:
-				Owner foundOwner = searchResult.getSingleResult();
+				SingleOwner foundOwner = searchResult.getSingleResult();
 				return REDIRECT_OWNERS + foundOwner.getId();
 
 			case MULTIPLE_RESULTS:
-				return addPaginationModel(page, model, searchResult.getOwners());
+				return addPaginationModel(page, model, searchResult, owner.getLastName(), OwnerCursor::of);
 
 			default:
 				throw new IllegalStateException("Unexpected search type: " + searchResult.getSearchType());
 		}
+	}
 
+	/**
+	 * Type-ahead suggestions for the find-owners form. Answers with compact JSON instead
+	 * of full owners and gives up with an empty list rather than exceed its latency
+	 * budget.
+	 */
+	@GetMapping(path = "/owners/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public List<OwnerSuggestion> suggestOwners(@RequestParam(name = "q", defaultValue = "") String query) {
+		String prefix = query.strip();
+		if (prefix.isEmpty()) {
+			return List.of();
+		}
+		try {
+			return this.ownerSearchService.suggestOwners(prefix);
+		}
+		catch (QueryTimeoutException ex) {
+			return List.of();
+		}
 	}
 
-	@GetMapping("/only/owners")
-	public String processFindFormForOnlyOwners(@RequestParam(defaultValue = "1") int page, OwnerRequest owner,
+	/**
+	 * Keyset navigation for the owners list: seeks from the given cursor instead of
+	 * paging with an offset, so deep pages cost the same as the first one.
+	 */
+	private String processKeysetSearch(String lastName, OwnerCursor cursor, Direction direction,
 			BindingResult result, Model model) {
+		OwnerSearchService.KeysetResult<SingleOwner> keysetResult = ownerSearchService
+			.seekSingleOwnersByLastName(lastName, cursor, direction);
 
-		// Use the new search service (Strangler Fig Pattern)
-		OwnerSearchService.SearchResult<SingleOwner> searchResult = ownerSearchService.findSingleOwnersByLastName(page,
-				owner.getLastName());
-
-		switch (searchResult.getSearchType()) {
-			case NO_RESULTS:
-				result.rejectValue("lastName", "notFound", "not found");
-				return OWNERS_FIND_OWNERS;
-
-			case SINGLE_RESULT:
-				SingleOwner foundOwner = searchResult.getSingleResult();
-				return REDIRECT_OWNERS + foundOwner.getId();
-
-			case MULTIPLE_RESULTS:
-				return addPaginationModel(page, model, searchResult.getOwners());
-
-			default:
-				throw new IllegalStateException("Unexpected search type: " + searchResult.getSearchType());
+		if (keysetResult.isEmpty()) {
+			result.rejectValue("lastName", "notFound", "not found");
+			return OWNERS_FIND_OWNERS;
 		}
+
+		model.addAttribute("keyset", true);
+		model.addAttribute("lastName", lastName == null ? "" : lastName);
+		model.addAttribute("previousCursor", encode(keysetResult.getPreviousCursor()));
+		model.addAttribute("nextCursor", encode(keysetResult.getNextCursor()));
+		model.addAttribute("listOwners", keysetResult.getOwners());
+		return OWNERS_LIST;
 	}
 
-	private <T> String addPaginationModel(int page, Model model, Page<T> paginated) {
+	private <T> String addPaginationModel(int page, Model model, OwnerSearchService.SearchResult<T> searchResult,
+			String lastName, Function<T, OwnerCursor> cursorOf) {
+		Slice<T> paginated = searchResult.getOwners();
 		List<T> listOwners = paginated.getContent();
 		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", paginated.getTotalPages());
-		model.addAttribute("totalItems", paginated.getTotalElements());
+		// Only counts when this is not the last window of results
+		model.addAttribute("totalPages", searchResult.getTotalPages());
+		model.addAttribute("totalItems", searchResult.getTotalElements());
 		model.addAttribute("listOwners", listOwners);
-		return "owners/ownersList";
+		// Cursors let the previous/next links switch to keyset navigation, provided the
+		// page is in the order the keyset queries seek in
+		model.addAttribute("lastName", lastName == null ? "" : lastName);
+		if (searchResult.isKeysetOrdered() && !listOwners.isEmpty()) {
+			if (paginated.hasPrevious()) {
+				model.addAttribute("previousCursor", cursorOf.apply(listOwners.get(0)).encode());
+			}
+			if (paginated.hasNext()) {
+				model.addAttribute("nextCursor", cursorOf.apply(listOwners.get(listOwners.size() - 1)).encode());
+			}
+		}
+		return OWNERS_LIST;
+	}
+
+	private static String encode(OwnerCursor cursor) {
+		return cursor == null ? null : cursor.encode();
+	}
+
+	private static OwnerCursor decodeCursor(String token) {
+		try {
+			return OwnerCursor.decode(token);
+		}
+		catch (IllegalArgumentException ex) {
+			return null;
+		}
 	}
 
 	@GetMapping("/owners/{ownerId}/edit")
@@ -177,23 +242,9 @@ class OwnerController {
 
 		owner.setId(ownerId);
 		this.owners.save(owner);
+		this.ownerSearchService.onOwnerSaved(owner);
 		redirectAttributes.addFlashAttribute("message", "Owner Values Updated");
 		return "redirect:/owners/{ownerId}";
 	}
 
-	/**
-	 * Custom handler for displaying an owner.
-	 * @param ownerId the ID of the owner to display
-	 * @return a ModelMap with the model attributes for the view
-	 */
-	@GetMapping("/owners/{ownerId}")
-	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
-		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		mav.addObject(owner);
-		return mav;
-	}
-
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.util.Assert;
+
+/**
+ * Keyset position within the owner search ordering of {@code (lastName, id)}. A cursor
+ * is exchanged with the browser as an opaque, URL-safe token so that seeking to the next
+ * or previous window never depends on a page number.
+ *
+ * @param lastName the last name of the owner at the window boundary
+ * @param id the identifier of the owner at the window boundary
+ */
+public record OwnerCursor(String lastName, int id) {
+
+	private static final char SEPARATOR = ':';
+
+	public OwnerCursor {
+		Assert.notNull(lastName, "Last name must not be null");
+	}
+
+	static OwnerCursor of(Owner owner) {
+		return new OwnerCursor(owner.getLastName(), owner.getId());
+	}
+
+	static OwnerCursor of(SingleOwner owner) {
+		return new OwnerCursor(owner.getLastName(), owner.getId());
+	}
+
+	/**
+	 * Encode this cursor as an opaque URL-safe token.
+	 * @return the token, never {@literal null}
+	 */
+	public String encode() {
+		String raw = this.id + String.valueOf(SEPARATOR) + this.lastName;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a token previously produced by {@link #encode()}.
+	 * @param token the token to decode
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the token is not a valid owner cursor
+	 */
+	public static OwnerCursor decode(String token) {
+		Assert.hasText(token, "Owner cursor must not be empty");
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid owner cursor: " + token, ex);
+		}
+		int separator = raw.indexOf(SEPARATOR);
+		if (separator < 1) {
+			throw new IllegalArgumentException("Invalid owner cursor: " + token);
+		}
+		try {
+			return new OwnerCursor(raw.substring(separator + 1), Integer.parseInt(raw.substring(0, separator)));
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid owner cursor: " + token, ex);
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.domain.Slice;
+
+/**
+ * Read model of the owner details page: the owner, its pets with their type names and
+ * the most recent visits of each pet. Immutable, and built from plain query rows rather
+ * than from managed entities, so rendering the page loads no {@link Owner} aggregate.
+ *
+ * @param id the owner id
+ * @param firstName the owner's first name
+ * @param lastName the owner's last name
+ * @param address the owner's address
+ * @param city the owner's city
+ * @param telephone the owner's telephone
+ * @param pets the owner's pets, ordered by name
+ * @author Tech Debt Refactoring Team
+ */
+public record OwnerDetails(Integer id, String firstName, String lastName, String address, String city,
+		String telephone, List<PetDetails> pets) {
+
+	public OwnerDetails {
+		pets = List.copyOf(pets);
+	}
+
+	/**
+	 * A pet of the owner.
+	 *
+	 * @param id the pet id
+	 * @param name the pet name
+	 * @param birthDate the pet's birth date
+	 * @param type the name of the pet type
+	 * @param visits the pet's most recent visits, most recent first
+	 * @param hasOlderVisits whether the pet has visits older than those shown
+	 */
+	public record PetDetails(Integer id, String name, LocalDate birthDate, String type, List<VisitDetails> visits,
+			boolean hasOlderVisits) {
+
+		public PetDetails {
+			visits = List.copyOf(visits);
+		}
+
+	}
+
+	/**
+	 * A visit of a pet.
+	 *
+	 * @param date the visit date
+	 * @param description the visit description
+	 */
+	public record VisitDetails(LocalDate date, String description) {
+	}
+
+	/**
+	 * Assemble the details of one owner in a single pass over its rows.
+	 * @param rows the rows of one owner, one per pet, ordered as they should be shown
+	 * @param recentVisits the visits to show by pet id, most recent first, with a next
+	 * slice if older visits follow
+	 * @return the owner details, or empty if there are no rows
+	 */
+	public static Optional<OwnerDetails> of(List<OwnerDetailsRow> rows,
+			Map<Integer, Slice<VisitDetails>> recentVisits) {
+		if (rows.isEmpty()) {
+			return Optional.empty();
+		}
+		List<PetDetails> pets = new ArrayList<>();
+		for (OwnerDetailsRow row : rows) {
+			if (row.petId() == null) {
+				continue;
+			}
+			Slice<VisitDetails> visits = recentVisits.get(row.petId());
+			pets.add(new PetDetails(row.petId(), row.petName(), row.birthDate(), row.typeName(),
+					(visits != null) ? visits.getContent() : List.of(), visits != null && visits.hasNext()));
+		}
+		OwnerDetailsRow owner = rows.get(0);
+		return Optional.of(new OwnerDetails(owner.ownerId(), owner.firstName(), owner.lastName(), owner.address(),
+				owner.city(), owner.telephone(), pets));
+	}
+
+}
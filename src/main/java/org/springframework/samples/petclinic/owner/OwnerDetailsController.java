@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.samples.petclinic.owner.OwnerDetails.VisitDetails;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+/**
+ * Renders the owner details page and the visit history of its pets from the
+ * {@link OwnerDetails} read model. Kept apart from {@link OwnerController}, whose
+ * {@code owner} model attribute would otherwise load the {@link Owner} entity for these
+ * pages as well. The owner details page carries a weak {@code ETag} built from the
+ * {@linkplain OwnerVersionQueries#findDetailsVersion(int) details version} and the
+ * locale, and is answered with {@code 304 Not Modified} when it still matches.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Controller
+class OwnerDetailsController {
+
+	private static final int VISIT_HISTORY_PAGE_SIZE = 10;
+
+	private final OwnerDetailsRepository ownerDetails;
+
+	public OwnerDetailsController(OwnerDetailsRepository ownerDetails) {
+		this.ownerDetails = ownerDetails;
+	}
+
+	/**
+	 * Custom handler for displaying an owner.
+	 * @param ownerId the ID of the owner to display
+	 * @param request the current request, checked against the owner details version
+	 * @return a ModelMap with the model attributes for the view, or {@code null} if the
+	 * client copy is up to date
+	 */
+	@GetMapping("/owners/{ownerId}")
+	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId, ServletWebRequest request) {
+		String version = this.ownerDetails.findDetailsVersion(ownerId).orElseThrow(() -> ownerNotFound(ownerId));
+		String etag = "W/\"" + version + "-" + LocaleContextHolder.getLocale() + "\"";
+		// flash messages are shown once, so a page carrying one is never revalidated
+		if (RequestContextUtils.getInputFlashMap(request.getRequest()) == null && request.checkNotModified(etag)) {
+			return null;
+		}
+		OwnerDetails owner = this.ownerDetails.findDetailsById(ownerId).orElseThrow(() -> ownerNotFound(ownerId));
+		return new ModelAndView("owners/ownerDetails", "owner", owner);
+	}
+
+	private static IllegalArgumentException ownerNotFound(int ownerId) {
+		return new IllegalArgumentException(
+				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct ");
+	}
+
+	/**
+	 * Shows the visit history of a pet, most recent first, one page at a time.
+	 * @param ownerId the ID of the owner of the pet
+	 * @param petId the ID of the pet
+	 * @param page the page to display, starting at 1; lower values show the first page
+	 * @return a ModelMap with the model attributes for the view
+	 */
+	@GetMapping("/owners/{ownerId}/pets/{petId}/visits")
+	public ModelAndView showVisitHistory(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@RequestParam(defaultValue = "1") int page) {
+		String petName = this.ownerDetails.findPetName(ownerId, petId)
+			.orElseThrow(() -> new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + "."));
+		int currentPage = Math.max(page, 1);
+		Slice<VisitDetails> visits = this.ownerDetails.findVisitHistory(petId,
+				PageRequest.of(currentPage - 1, VISIT_HISTORY_PAGE_SIZE));
+		ModelAndView mav = new ModelAndView("pets/visitHistory");
+		mav.addObject("ownerId", ownerId);
+		mav.addObject("petName", petName);
+		mav.addObject("visits", visits.getContent());
+		mav.addObject("currentPage", currentPage);
+		mav.addObject("hasNext", visits.hasNext());
+		return mav;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read-side repository for the owner details page. Reads an owner, its pets and their
+ * types with one outer-join query into plain rows, and then only the most recent visits
+ * of each pet, without managing any entity. Older visits, archived ones included, are
+ * read a page at a time. Conditional GETs of the page only look up its version.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public interface OwnerDetailsRepository extends Repository<Owner, Integer>, PetVisitQueries, OwnerVersionQueries {
+
+	/**
+	 * Number of visits shown per pet on the owner details page.
+	 */
+	int RECENT_VISITS_PER_PET = 5;
+
+	/**
+	 * Retrieve the details rows of the owner with the given id, one per pet in the order
+	 * of {@link Owner#getPets()}.
+	 * @param id the owner id
+	 * @return the rows, empty if the owner does not exist
+	 */
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerDetailsRow(
+				o.id, o.firstName, o.lastName, o.address, o.city, o.telephone,
+				p.id, p.name, p.birthDate, t.name)
+			FROM Owner o LEFT JOIN o.pets p LEFT JOIN p.type t
+			WHERE o.id = :id
+			ORDER BY p.name, p.id
+			""")
+	@Transactional(readOnly = true)
+	List<OwnerDetailsRow> findDetailsRowsById(int id);
+
+	/**
+	 * Retrieve the name of a pet of the given owner.
+	 * @param ownerId the owner id
+	 * @param petId the pet id
+	 * @return the pet name, empty if the owner has no pet with the given id
+	 */
+	@Query("SELECT p.name FROM Owner o JOIN o.pets p WHERE o.id = :ownerId AND p.id = :petId")
+	@Transactional(readOnly = true)
+	Optional<String> findPetName(int ownerId, int petId);
+
+	/**
+	 * Retrieve the details of the owner with the given id, with the
+	 * {@value #RECENT_VISITS_PER_PET} most recent visits of each pet and whether older
+	 * ones follow.
+	 * @param id the owner id
+	 * @return the owner details, empty if the owner does not exist
+	 */
+	@Transactional(readOnly = true)
+	default Optional<OwnerDetails> findDetailsById(int id) {
+		List<OwnerDetailsRow> rows = findDetailsRowsById(id);
+		List<Integer> petIds = rows.stream().map(OwnerDetailsRow::petId).filter(Objects::nonNull).toList();
+		return OwnerDetails.of(rows, findRecentVisits(petIds, RECENT_VISITS_PER_PET));
+	}
+
+}
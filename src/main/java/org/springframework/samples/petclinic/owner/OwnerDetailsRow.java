@@ -0,0 +1,27 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the owner details query: the owner columns, repeated for every pet. Pet
+ * columns are {@code null} for an owner without pets. Assembled into an
+ * {@link OwnerDetails} by {@link OwnerDetails#of(java.util.List, java.util.Map)}.
+ */
+public record OwnerDetailsRow(Integer ownerId, String firstName, String lastName, String address, String city,
+		String telephone, Integer petId, String petName, LocalDate birthDate, String typeName) {
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Optional;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Bulk export of all owners as a file download, written while it is read from the
+ * database instead of paging through {@code /owners}.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Controller
+class OwnerExportController {
+
+	private final OwnerExportService ownerExportService;
+
+	public OwnerExportController(OwnerExportService ownerExportService) {
+		this.ownerExportService = ownerExportService;
+	}
+
+	@GetMapping("/owners/export")
+	public ResponseEntity<StreamingResponseBody> exportOwners(
+			@RequestParam(name = "format", defaultValue = "csv") String format) {
+		Optional<OwnerExportFormat> exportFormat = OwnerExportFormat.of(format);
+		if (exportFormat.isEmpty()) {
+			return ResponseEntity.badRequest().build();
+		}
+		OwnerExportFormat resolved = exportFormat.get();
+		ContentDisposition disposition = ContentDisposition.attachment()
+			.filename("owners." + resolved.getExtension())
+			.build();
+		// Runs on an async request thread, where the service opens its own transaction
+		StreamingResponseBody body = out -> this.ownerExportService.exportOwners(resolved, out);
+		return ResponseEntity.ok()
+			.contentType(resolved.getMediaType())
+			.header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+			.body(body);
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of the owner export.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public enum OwnerExportFormat {
+
+	/**
+	 * Comma-separated values with a header line, quoted as in RFC 4180.
+	 */
+	CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+
+	/**
+	 * One JSON object per line.
+	 */
+	NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+	private final MediaType mediaType;
+
+	private final String extension;
+
+	OwnerExportFormat(MediaType mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	public MediaType getMediaType() {
+		return this.mediaType;
+	}
+
+	public String getExtension() {
+		return this.extension;
+	}
+
+	/**
+	 * Resolve a format from its name, ignoring case.
+	 * @param name the format name, such as {@code csv}
+	 * @return the format, or empty if there is no format with that name
+	 */
+	public static Optional<OwnerExportFormat> of(String name) {
+		for (OwnerExportFormat format : values()) {
+			if (format.name().equals(name.toUpperCase(Locale.ROOT))) {
+				return Optional.of(format);
+			}
+		}
+		return Optional.empty();
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Service writing all owners to a stream, as CSV or NDJSON. Owners are read from a
+ * database cursor and written one by one, so memory use does not grow with the number of
+ * owners.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Service
+public class OwnerExportService {
+
+	private static final String CSV_HEADER = "id,firstName,lastName,address,city,telephone";
+
+	private final OwnerRepository ownerRepository;
+
+	private final JsonMapper jsonMapper;
+
+	public OwnerExportService(OwnerRepository ownerRepository, JsonMapper jsonMapper) {
+		this.ownerRepository = ownerRepository;
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * Write all owners, in id order, to the given stream. The stream is flushed but not
+	 * closed.
+	 * @param format the export format
+	 * @param out the stream to write to
+	 * @return the number of owners written
+	 * @throws IOException if writing fails, e.g. because the client went away
+	 */
+	@Transactional(readOnly = true)
+	public long exportOwners(OwnerExportFormat format, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		if (format == OwnerExportFormat.CSV) {
+			writer.write(CSV_HEADER);
+			writer.write("\r\n");
+		}
+		long count = 0;
+		try (Stream<SingleOwner> owners = this.ownerRepository.streamAllSingleOwners()) {
+			Iterator<SingleOwner> iterator = owners.iterator();
+			while (iterator.hasNext()) {
+				SingleOwner owner = iterator.next();
+				if (format == OwnerExportFormat.CSV) {
+					writeCsv(owner, writer);
+				}
+				else {
+					writer.write(this.jsonMapper.writeValueAsString(Row.of(owner)));
+					writer.write('\n');
+				}
+				count++;
+			}
+		}
+		writer.flush();
+		return count;
+	}
+
+	private static void writeCsv(SingleOwner owner, Writer writer) throws IOException {
+		writer.write(String.valueOf(owner.getId()));
+		for (String value : new String[] { owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+				owner.getCity(), owner.getTelephone() }) {
+			writer.write(',');
+			writer.write(csvValue(value));
+		}
+		writer.write("\r\n");
+	}
+
+	static String csvValue(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+				&& value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private record Row(Integer id, String firstName, String lastName, String address, String city,
+			String telephone) {
+
+		static Row of(SingleOwner owner) {
+			return new Row(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+					owner.getCity(), owner.getTelephone());
+		}
+
+	}
+
+}
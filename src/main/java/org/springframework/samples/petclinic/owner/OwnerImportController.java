@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+
+/**
+ * Bulk import of owners and their pets from a CSV file posted as the request body, e.g.
+ * {@code curl -H 'Content-Type: text/csv' --data-binary @owners.csv .../owners/import}.
+ * The file is read while it is uploaded, see {@link OwnerImportService} for its format.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Controller
+class OwnerImportController {
+
+	private final OwnerImportService ownerImportService;
+
+	public OwnerImportController(OwnerImportService ownerImportService) {
+		this.ownerImportService = ownerImportService;
+	}
+
+	@PostMapping(path = "/owners/import", consumes = "text/csv", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<OwnerImportReport> importOwners(InputStream body) throws IOException {
+		OwnerImportReport report;
+		try {
+			report = this.ownerImportService.importOwners(body);
+		}
+		catch (IllegalArgumentException ex) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.status(report.rowsRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+			.body(report);
+	}
+
+}
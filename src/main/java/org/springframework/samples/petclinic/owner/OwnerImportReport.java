@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk owner import.
+ *
+ * @param rowsRead the number of data rows read, not counting the header and blank lines
+ * @param ownersImported the number of owners inserted
+ * @param petsImported the number of pets inserted
+ * @param rowsRejected the number of rows that were not imported
+ * @param rejectedRows the first {@value OwnerImportService#MAX_REPORTED_REJECTIONS}
+ * rejected rows with the reasons
+ */
+public record OwnerImportReport(long rowsRead, long ownersImported, long petsImported, long rowsRejected,
+		List<RejectedRow> rejectedRows) {
+
+	/**
+	 * A row of the import that was rejected.
+	 *
+	 * @param line the line number in the file, the header being line 1
+	 * @param errors why the row was rejected
+	 */
+	public record RejectedRow(long line, List<String> errors) {
+
+	}
+
+}
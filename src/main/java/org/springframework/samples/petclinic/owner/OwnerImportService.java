@@ -0,0 +1,355 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import jakarta.validation.Validator;
+
+/**
+ * Service importing owners and their pets from CSV, e.g. when a new clinic is onboarded.
+ * The file is read line by line and inserted in chunks of {@value #CHUNK_SIZE} owners,
+ * each as JDBC batches in its own transaction, so neither memory use nor the length of a
+ * transaction grows with the size of the file.
+ * <p>
+ * The header names the columns, in any order: {@code firstName}, {@code lastName},
+ * {@code address}, {@code city} and {@code telephone} are required, {@code petName},
+ * {@code petBirthDate} and {@code petType} optional; other columns, like the {@code id}
+ * of an export, are ignored. Each row holds an owner and at most one pet, consecutive rows
+ * with the same owner columns add pets to the same owner. Owners and pets are checked
+ * against the same constraints as the forms, and rows that fail them are reported
+ * instead of failing the import. A rejected pet does not keep its owner from being
+ * imported.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Service
+public class OwnerImportService {
+
+	/**
+	 * Number of owners inserted per batch and transaction.
+	 */
+	public static final int CHUNK_SIZE = 500;
+
+	/**
+	 * Largest number of rejected rows listed in a report. All of them are counted.
+	 */
+	public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+	static final List<String> OWNER_COLUMNS = List.of("firstName", "lastName", "address", "city", "telephone");
+
+	private static final Map<String, String> PET_COLUMNS = Map.of("name", "petName", "birthDate", "petBirthDate",
+			"type", "petType");
+
+	private static final Log logger = LogFactory.getLog(OwnerImportService.class);
+
+	private final OwnerRepository ownerRepository;
+
+	private final OwnerSearchService ownerSearchService;
+
+	private final PetTypeRegistry petTypes;
+
+	private final PetValidationService petValidationService;
+
+	private final Validator validator;
+
+	private final TransactionTemplate transactionTemplate;
+
+	public OwnerImportService(OwnerRepository ownerRepository, OwnerSearchService ownerSearchService,
+			PetTypeRegistry petTypes, PetValidationService petValidationService, Validator validator,
+			PlatformTransactionManager transactionManager) {
+		this.ownerRepository = ownerRepository;
+		this.ownerSearchService = ownerSearchService;
+		this.petTypes = petTypes;
+		this.petValidationService = petValidationService;
+		this.validator = validator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Import the owners and pets of a UTF-8 encoded CSV file.
+	 * @param in the file to read, not closed
+	 * @return how many rows were imported and which were rejected
+	 * @throws IllegalArgumentException if the file is empty or a required column is
+	 * missing from the header
+	 * @throws IOException if reading the file fails
+	 */
+	public OwnerImportReport importOwners(InputStream in) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		String header = reader.readLine();
+		if (header == null) {
+			throw new IllegalArgumentException("The file is empty");
+		}
+		Map<String, Integer> columns = columns(parseLine(header.replace("\uFEFF", "")));
+
+		Progress progress = new Progress();
+		List<OwnerRows> chunk = new ArrayList<>(CHUNK_SIZE);
+		OwnerRows current = null;
+		long line = 1;
+		String text;
+		while ((text = reader.readLine()) != null) {
+			line++;
+			if (text.isBlank()) {
+				continue;
+			}
+			progress.rowsRead++;
+			List<String> values;
+			try {
+				values = parseLine(text);
+			}
+			catch (IllegalArgumentException ex) {
+				progress.reject(line, List.of(ex.getMessage()));
+				continue;
+			}
+			List<String> ownerValues = OWNER_COLUMNS.stream().map(column -> value(values, columns, column)).toList();
+			if (current == null || !current.values.equals(ownerValues)) {
+				if (chunk.size() >= CHUNK_SIZE) {
+					insert(chunk, progress);
+				}
+				current = new OwnerRows(ownerValues, owner(ownerValues));
+				List<String> errors = violations(current.owner, Map.of());
+				if (!errors.isEmpty()) {
+					current.rejectedLine = line;
+					progress.reject(line, errors);
+					continue;
+				}
+				chunk.add(current);
+			}
+			else if (current.rejectedLine > 0) {
+				progress.reject(line, List.of("owner: rejected on line " + current.rejectedLine));
+				continue;
+			}
+			addPet(current, line, values, columns, progress);
+		}
+		if (!chunk.isEmpty()) {
+			insert(chunk, progress);
+		}
+		return progress.report();
+	}
+
+	private void addPet(OwnerRows rows, long line, List<String> values, Map<String, Integer> columns,
+			Progress progress) {
+		String name = value(values, columns, "petName");
+		String birthDate = value(values, columns, "petBirthDate");
+		String type = value(values, columns, "petType");
+		if (name.isEmpty() && birthDate.isEmpty() && type.isEmpty()) {
+			rows.lines.add(line);
+			return;
+		}
+		Pet pet = new Pet();
+		pet.setName(name);
+		pet.setType(this.petTypes.findByName(type));
+		List<String> errors = violations(pet, PET_COLUMNS);
+		if (pet.getType() == null) {
+			errors.add("petType: unknown pet type '" + type + "'");
+		}
+		if (birthDate.isEmpty()) {
+			errors.add("petBirthDate: required");
+		}
+		else {
+			try {
+				pet.setBirthDate(LocalDate.parse(birthDate));
+			}
+			catch (DateTimeParseException ex) {
+				errors.add("petBirthDate: must be a date like 2020-01-31");
+			}
+		}
+		if (StringUtils.hasText(name) && rows.owner.getPet(name) != null) {
+			errors.add("petName: already exists");
+		}
+		Errors birthDateErrors = new BeanPropertyBindingResult(pet, "pet");
+		this.petValidationService.validateBirthDate(pet, birthDateErrors);
+		if (birthDateErrors.hasErrors()) {
+			errors.add("petBirthDate: must not be in the future");
+		}
+		if (!errors.isEmpty()) {
+			progress.reject(line, errors);
+			return;
+		}
+		rows.owner.addPet(pet);
+		rows.lines.add(line);
+	}
+
+	private void insert(List<OwnerRows> chunk, Progress progress) {
+		List<Owner> owners = chunk.stream().map(rows -> rows.owner).toList();
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> this.ownerRepository.insertOwners(owners));
+		}
+		catch (DataAccessException ex) {
+			// Typically a value too long for its column: the whole chunk was rolled back
+			String error = "database: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+			chunk.forEach(rows -> rows.lines.forEach(line -> progress.reject(line, List.of(error))));
+			chunk.clear();
+			return;
+		}
+		this.ownerSearchService.onOwnersImported(owners);
+		progress.ownersImported += owners.size();
+		progress.petsImported += owners.stream().mapToInt(owner -> owner.getPets().size()).sum();
+		chunk.clear();
+		if (logger.isInfoEnabled()) {
+			logger.info("Owner import: %d rows read, %d owners and %d pets imported, %d rows rejected"
+				.formatted(progress.rowsRead, progress.ownersImported, progress.petsImported, progress.rowsRejected));
+		}
+	}
+
+	private List<String> violations(Object bean, Map<String, String> columnNames) {
+		return this.validator.validate(bean)
+			.stream()
+			.map(violation -> {
+				String property = violation.getPropertyPath().toString();
+				return columnNames.getOrDefault(property, property) + ": " + violation.getMessage();
+			})
+			.sorted()
+			.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	private static Owner owner(List<String> values) {
+		Owner owner = new Owner();
+		owner.setFirstName(values.get(0));
+		owner.setLastName(values.get(1));
+		owner.setAddress(values.get(2));
+		owner.setCity(values.get(3));
+		owner.setTelephone(values.get(4));
+		return owner;
+	}
+
+	private static Map<String, Integer> columns(List<String> header) {
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.putIfAbsent(header.get(i).trim(), i);
+		}
+		List<String> missing = OWNER_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+		if (!missing.isEmpty()) {
+			throw new IllegalArgumentException("Missing columns: " + String.join(", ", missing));
+		}
+		return columns;
+	}
+
+	private static String value(List<String> values, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		return (index != null && index < values.size()) ? values.get(index).trim() : "";
+	}
+
+	/**
+	 * Split a CSV line as written by {@link OwnerExportService}: values are separated by
+	 * commas and may be quoted, with quotes doubled inside. Line breaks inside quoted
+	 * values are not supported.
+	 */
+	static List<String> parseLine(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					value.append(c);
+				}
+				else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				}
+				else {
+					quoted = false;
+				}
+			}
+			else if (c == '"') {
+				quoted = true;
+			}
+			else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			}
+			else {
+				value.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("row: unterminated quoted value");
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+	/**
+	 * The owner of one or more consecutive rows, with the lines of the rows it took.
+	 */
+	private static final class OwnerRows {
+
+		private final List<String> values;
+
+		private final Owner owner;
+
+		private final List<Long> lines = new ArrayList<>();
+
+		private long rejectedLine;
+
+		private OwnerRows(List<String> values, Owner owner) {
+			this.values = values;
+			this.owner = owner;
+		}
+
+	}
+
+	private static final class Progress {
+
+		private final List<OwnerImportReport.RejectedRow> rejectedRows = new ArrayList<>();
+
+		private long rowsRead;
+
+		private long ownersImported;
+
+		private long petsImported;
+
+		private long rowsRejected;
+
+		private void reject(long line, List<String> errors) {
+			this.rowsRejected++;
+			if (this.rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+				this.rejectedRows.add(new OwnerImportReport.RejectedRow(line, errors));
+			}
+		}
+
+		private OwnerImportReport report() {
+			return new OwnerImportReport(this.rowsRead, this.ownersImported, this.petsImported, this.rowsRejected,
+					List.copyOf(this.rejectedRows));
+		}
+
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * In-memory prefix index (a trie) over owner last names. Resolves the matches of a
+ * last-name prefix and the ids of any page of them without touching the database, so
+ * that {@link OwnerSearchService} only has to load the rows of the page itself.
+ * <p>
+ * Every trie node keeps the number of owners below it, which gives the total of a search
+ * for free and lets a page be found by skipping whole subtrees. Names and prefixes are
+ * folded to upper case, like the case-insensitive {@code owners.last_name} column that the
+ * {@code LIKE 'x%'} query it replaces compares against, and owners whose names only differ
+ * in case are ordered by id. The index is loaded
+ * once the application is ready and kept current through
+ * {@link OwnerSearchService#onOwnerSaved(Owner)} and
+ * {@link OwnerSearchService#onOwnersImported(List)}. It is off by default and enabled
+ * with {@code petclinic.owners.last-name-index.enabled=true}.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Component
+@ConditionalOnProperty(name = "petclinic.owners.last-name-index.enabled", havingValue = "true")
+public class OwnerLastNameIndex {
+
+	private final OwnerRepository ownerRepository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<Integer, String> lastNames = new HashMap<>();
+
+	private final Node root = new Node();
+
+	private volatile boolean loaded;
+
+	public OwnerLastNameIndex(OwnerRepository ownerRepository) {
+		this.ownerRepository = ownerRepository;
+	}
+
+	/**
+	 * The ids of one page of matches, in {@code (lastName, id)} order, and the total
+	 * number of matches.
+	 */
+	public record Window(List<Integer> ids, long total) {
+	}
+
+	/**
+	 * (Re)load the index from the owners table. Saves that happen meanwhile wait for the
+	 * load to finish so none of them is lost.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		this.lock.writeLock().lock();
+		try {
+			this.lastNames.clear();
+			this.root.children.clear();
+			this.root.ids.clear();
+			this.root.size = 0;
+			for (SingleOwner owner : this.ownerRepository.findAllSingleOwners()) {
+				this.lastNames.put(owner.getId(), owner.getLastName());
+				insert(owner.getLastName(), owner.getId());
+			}
+			this.loaded = true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public boolean isLoaded() {
+		return this.loaded;
+	}
+
+	/**
+	 * Add an owner to the index, or move it if its last name changed.
+	 * @param id the owner id
+	 * @param lastName the current last name of the owner
+	 */
+	public void put(int id, String lastName) {
+		Assert.notNull(lastName, "Last name must not be null");
+		this.lock.writeLock().lock();
+		try {
+			String previous = this.lastNames.put(id, lastName);
+			if (lastName.equals(previous)) {
+				return;
+			}
+			if (previous != null) {
+				remove(previous, id);
+			}
+			insert(lastName, id);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Find one page of owners whose last name starts with the given prefix.
+	 * @param prefix the last name prefix, empty for all owners
+	 * @param offset the number of matches to skip
+	 * @param limit the maximum number of ids to return
+	 * @return the ids of the page and the total number of matches
+	 */
+	public Window find(String prefix, long offset, int limit) {
+		this.lock.readLock().lock();
+		try {
+			String key = key(prefix);
+			Node node = this.root;
+			for (int i = 0; i < key.length() && node != null; i++) {
+				node = node.children.get(key.charAt(i));
+			}
+			if (node == null) {
+				return new Window(List.of(), 0);
+			}
+			List<Integer> ids = new ArrayList<>(limit);
+			collect(node, offset, limit, ids);
+			return new Window(ids, node.size);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private static String key(String name) {
+		return name.toUpperCase(Locale.ROOT);
+	}
+
+	private void insert(String lastName, int id) {
+		String key = key(lastName);
+		Node node = this.root;
+		node.size++;
+		for (int i = 0; i < key.length(); i++) {
+			node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+			node.size++;
+		}
+		node.ids.add(id);
+	}
+
+	private void remove(String lastName, int id) {
+		String key = key(lastName);
+		Deque<Node> path = new ArrayDeque<>();
+		Node node = this.root;
+		path.push(node);
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.children.get(key.charAt(i));
+			path.push(node);
+		}
+		if (node == null || !node.ids.remove(id)) {
+			return;
+		}
+		// Walk back up, pruning the branches that became empty
+		for (int i = key.length(); i >= 0; i--) {
+			Node current = path.pop();
+			current.size--;
+			if (i > 0 && current.size == 0) {
+				path.peek().children.remove(key.charAt(i - 1));
+			}
+		}
+	}
+
+	/**
+	 * Depth-first walk in name order, skipping whole subtrees while {@code skip} is
+	 * larger than their size.
+	 * @return the number of matches still to be skipped
+	 */
+	private static long collect(Node node, long skip, int limit, List<Integer> ids) {
+		if (skip >= node.size) {
+			return skip - node.size;
+		}
+		for (Integer id : node.ids) {
+			if (ids.size() == limit) {
+				return 0;
+			}
+			if (skip > 0) {
+				skip--;
+			}
+			else {
+				ids.add(id);
+			}
+		}
+		for (Node child : node.children.values()) {
+			if (ids.size() == limit) {
+				return 0;
+			}
+			skip = collect(child, skip, limit, ids);
+		}
+		return skip;
+	}
+
+	private static final class Node {
+
+		private final TreeMap<Character, Node> children = new TreeMap<>();
+
+		/** Owners whose last name ends at this node. */
+		private final TreeSet<Integer> ids = new TreeSet<>();
+
+		/** Owners whose last name ends at or below this node. */
+		private int size;
+
+	}
+
+}
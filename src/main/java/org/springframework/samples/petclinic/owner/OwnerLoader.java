@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped identity cache for {@link Owner} aggregates. The
+ * {@code @ModelAttribute} methods of the owner, pet and visit controllers all load the
+ * owner of the request through this loader, so that an owner is read from the database
+ * once per request instead of once per model attribute.
+ * <p>
+ * An owner is cached together with the fetch plan it was loaded with; asking for a
+ * larger plan than the cached one loads the owner again.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Component
+@RequestScope
+public class OwnerLoader {
+
+	/**
+	 * Fetch plans, from smallest to largest.
+	 */
+	public enum Graph {
+
+		OWNER, PETS, PETS_AND_VISITS
+
+	}
+
+	private final OwnerRepository owners;
+
+	private final Map<Integer, Loaded> loaded = new HashMap<>();
+
+	public OwnerLoader(OwnerRepository owners) {
+		this.owners = owners;
+	}
+
+	/**
+	 * Return the owner with the given id, loaded with at least the given fetch plan.
+	 * @param ownerId the owner id
+	 * @param graph the smallest fetch plan the caller needs
+	 * @return the owner, the same instance for repeated calls within a request
+	 * @throws IllegalArgumentException if no owner exists with the given id
+	 */
+	public Owner load(int ownerId, Graph graph) {
+		Loaded cached = this.loaded.get(ownerId);
+		if (cached != null && cached.graph().compareTo(graph) >= 0) {
+			return cached.owner();
+		}
+		Owner owner = find(ownerId, graph).orElseThrow(() -> new IllegalArgumentException(
+				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
+		this.loaded.put(ownerId, new Loaded(owner, graph));
+		return owner;
+	}
+
+	private Optional<Owner> find(int ownerId, Graph graph) {
+		return switch (graph) {
+			case OWNER -> this.owners.findById(ownerId);
+			case PETS -> this.owners.findWithPetsById(ownerId);
+			case PETS_AND_VISITS -> this.owners.findWithPetsAndVisitsById(ownerId);
+		};
+	}
+
+	private record Loaded(Owner owner, Graph graph) {
+	}
+
+}
@@ -15,11 +15,22 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
@@ -33,7 +44,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @author Michael Isvy
  * @author Wick Dynex
  */
-public interface OwnerRepository extends JpaRepository<Owner, Integer> {
+public interface OwnerRepository extends JpaRepository<Owner, Integer>, OwnerBatchInserts {
 
 	/**
 	 * Retrieve {@link Owner}s from the data store by last name, returning all owners
@@ -45,7 +56,8 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
 	/**
-	 * Retrieve an {@link Owner} from the data store by id.
+	 * Retrieve an {@link Owner} from the data store by id. Only the owner itself is
+	 * loaded, its pets are fetched lazily.
 	 * <p>
 	 * This method returns an {@link Optional} containing the {@link Owner} if found. If
 	 * no {@link Owner} is found with the provided id, it will return an empty
@@ -59,6 +71,24 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Retrieve an {@link Owner} together with its pets and their types in a single query,
+	 * using the {@value Owner#WITH_PETS} fetch plan. Visits stay unloaded.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found
+	 */
+	@EntityGraph(Owner.WITH_PETS)
+	Optional<Owner> findWithPetsById(Integer id);
+
+	/**
+	 * Retrieve an {@link Owner} together with its pets, their types and their visits in a
+	 * single query, using the {@value Owner#WITH_PETS_AND_VISITS} fetch plan.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found
+	 */
+	@EntityGraph(Owner.WITH_PETS_AND_VISITS)
+	Optional<Owner> findWithPetsAndVisitsById(Integer id);
+
 	/**
 	 * Retrieve {@link Owner}s from the data store by last name, returning all owners
 	 * whose last name <i>starts</i> with the given name.
@@ -68,4 +98,111 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Page<SingleOwner> findSingleOwnerByLastNameStartingWith(String lastName, Pageable pageable);
 
+	/**
+	 * Retrieve a window of {@link SingleOwner}s whose last name <i>starts</i> with the
+	 * given name. Unlike {@link #findSingleOwnerByLastNameStartingWith(String, Pageable)}
+	 * no count query is issued: one extra row is fetched to find out whether another
+	 * window follows.
+	 * @param lastName Value to search for
+	 * @param pageable the window to retrieve
+	 * @return a {@link Slice} of matching {@link SingleOwner}s
+	 */
+	Slice<SingleOwner> findSingleOwnerSliceByLastNameStartingWith(String lastName, Pageable pageable);
+
+	/**
+	 * Retrieve the first {@link SingleOwner}s, in {@code (lastName, id)} order, whose last
+	 * name <i>starts</i> with the given name. Used for autocomplete, so the query is
+	 * bounded by both the given limit and a short timeout.
+	 * @param lastName Value to search for
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners
+	 */
+	@QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "250"))
+	List<SingleOwner> findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(String lastName, Limit limit);
+
+	/**
+	 * Count the {@link Owner}s whose last name <i>starts</i> with the given name.
+	 * @param lastName Value to search for
+	 * @return the number of matching owners
+	 */
+	long countByLastNameStartingWith(String lastName);
+
+	/**
+	 * Retrieve all {@link SingleOwner}s, used to build the {@link OwnerLastNameIndex}.
+	 * @return every owner, without pets
+	 */
+	@Query("""
+			SELECT o.id AS id, o.firstName AS firstName, o.lastName AS lastName,
+				o.address AS address, o.city AS city, o.telephone AS telephone
+			FROM Owner o
+			""")
+	List<SingleOwner> findAllSingleOwners();
+
+	/**
+	 * Stream all {@link SingleOwner}s in id order, for the owner export. Rows are fetched
+	 * from a server-side cursor in chunks rather than read into memory at once, so the
+	 * stream must be consumed, and closed, within a transaction.
+	 * @return every owner, without pets
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("""
+			SELECT o.id AS id, o.firstName AS firstName, o.lastName AS lastName,
+				o.address AS address, o.city AS city, o.telephone AS telephone
+			FROM Owner o
+			ORDER BY o.id
+			""")
+	Stream<SingleOwner> streamAllSingleOwners();
+
+	/**
+	 * Retrieve the {@link SingleOwner}s with the given ids, in no particular order.
+	 * @param ids the ids to search for
+	 * @return the owners found
+	 */
+	List<SingleOwner> findSingleOwnersByIdIn(Collection<Integer> ids);
+
+	/**
+	 * Retrieve the window of {@link SingleOwner}s whose last name <i>starts</i> with the
+	 * given name and that sort strictly after the given keyset position. Results are
+	 * ordered by {@code (lastName, id)} ascending and no count query is issued, so the
+	 * cost of a window does not depend on how deep into the result set it is.
+	 * @param lastName Value to search for
+	 * @param afterLastName last name of the keyset position to seek past
+	 * @param afterId id of the keyset position to seek past
+	 * @param pageable the window size, the page number must be {@literal 0}
+	 * @return the owners following the keyset position
+	 */
+	@Query("""
+			SELECT o.id AS id, o.firstName AS firstName, o.lastName AS lastName,
+				o.address AS address, o.city AS city, o.telephone AS telephone
+			FROM Owner o
+			WHERE o.lastName LIKE :lastName%
+				AND (o.lastName > :afterLastName OR (o.lastName = :afterLastName AND o.id > :afterId))
+			ORDER BY o.lastName ASC, o.id ASC
+			""")
+	List<SingleOwner> findSingleOwnersAfter(String lastName, String afterLastName, Integer afterId,
+			Pageable pageable);
+
+	/**
+	 * Retrieve the window of {@link SingleOwner}s whose last name <i>starts</i> with the
+	 * given name and that sort strictly before the given keyset position. Results are
+	 * ordered by {@code (lastName, id)} <i>descending</i>, i.e. nearest to the keyset
+	 * position first.
+	 * @param lastName Value to search for
+	 * @param beforeLastName last name of the keyset position to seek before
+	 * @param beforeId id of the keyset position to seek before
+	 * @param pageable the window size, the page number must be {@literal 0}
+	 * @return the owners preceding the keyset position, in reverse order
+	 */
+	@Query("""
+			SELECT o.id AS id, o.firstName AS firstName, o.lastName AS lastName,
+				o.address AS address, o.city AS city, o.telephone AS telephone
+			FROM Owner o
+			WHERE o.lastName LIKE :lastName%
+				AND (o.lastName < :beforeLastName OR (o.lastName = :beforeLastName AND o.id < :beforeId))
+			ORDER BY o.lastName DESC, o.id DESC
+			""")
+	List<SingleOwner> findSingleOwnersBefore(String lastName, String beforeLastName, Integer beforeId,
+			Pageable pageable);
+
 }
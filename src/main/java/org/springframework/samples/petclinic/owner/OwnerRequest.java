@@ -1,5 +0,0 @@
-package org.springframework.samples.petclinic.owner;
-
-public class OwnerRequest extends Owner {
-
-}
@@ -15,10 +15,36 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition.Direction;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * Service for searching and managing owner queries. Part of the Strangler Fig refactoring
@@ -32,27 +58,94 @@ public class OwnerSearchService {
 
 	private static final int DEFAULT_PAGE_SIZE = 5;
 
+	/**
+	 * Order of the offset pages, the same as the keyset order of
+	 * {@link OwnerRepository#findSingleOwnersAfter} so that cursors can be taken from them.
+	 */
+	private static final Sort KEYSET_ORDER = Sort.by("lastName", "id");
+
+	/**
+	 * Hard cap on the number of autocomplete suggestions.
+	 */
+	static final int MAX_SUGGESTIONS = 10;
+
+	/**
+	 * Name of the observation, and so of the timer, of every search.
+	 */
+	static final String SEARCH_OBSERVATION = "petclinic.owner.search";
+
+	/**
+	 * Name of the cache of suggestions per prefix.
+	 */
+	static final String SUGGESTIONS_CACHE = "owner-suggestions";
+
 	private final OwnerRepository ownerRepository;
 
+	private final OwnerLastNameIndex lastNameIndex;
+
+	private final ObservationRegistry observationRegistry;
+
+	private final Cache suggestionCache;
+
 	public OwnerSearchService(OwnerRepository ownerRepository) {
+		this(ownerRepository, (OwnerLastNameIndex) null);
+	}
+
+	@Autowired
+	public OwnerSearchService(OwnerRepository ownerRepository, ObjectProvider<OwnerLastNameIndex> lastNameIndex,
+			ObjectProvider<ObservationRegistry> observationRegistry, ObjectProvider<CacheManager> cacheManager) {
+		this(ownerRepository, lastNameIndex.getIfAvailable(),
+				observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+				suggestionCache(cacheManager.getIfAvailable()));
+	}
+
+	OwnerSearchService(OwnerRepository ownerRepository, OwnerLastNameIndex lastNameIndex) {
+		this(ownerRepository, lastNameIndex, ObservationRegistry.NOOP, null);
+	}
+
+	OwnerSearchService(OwnerRepository ownerRepository, OwnerLastNameIndex lastNameIndex,
+			ObservationRegistry observationRegistry, Cache suggestionCache) {
 		this.ownerRepository = ownerRepository;
+		this.lastNameIndex = lastNameIndex;
+		this.observationRegistry = observationRegistry;
+		this.suggestionCache = suggestionCache;
 	}
 
 	/**
-	 * Search result container with additional metadata.
+	 * Search result container with additional metadata. The owners are held as a
+	 * {@link Slice}; the total number of matches is only counted when asked for and the
+	 * window does not already reveal it. Only owners read in the {@code (lastName, id)}
+	 * order of the database are {@linkplain #isKeysetOrdered() keyset ordered}.
 	 */
 	public static class SearchResult<T> {
 
-		private final Page<T> owners;
+		private final Slice<T> owners;
 
 		private final SearchType searchType;
 
+		private final LongSupplier totalCounter;
+
+		private final boolean keysetOrdered;
+
+		private Long totalElements;
+
 		public SearchResult(Page<T> owners, SearchType searchType) {
+			this(owners, searchType, owners::getTotalElements);
+		}
+
+		public SearchResult(Slice<T> owners, SearchType searchType, LongSupplier totalCounter) {
+			this(owners, searchType, totalCounter, false);
+		}
+
+		public SearchResult(Slice<T> owners, SearchType searchType, LongSupplier totalCounter,
+				boolean keysetOrdered) {
 			this.owners = owners;
 			this.searchType = searchType;
+			this.totalCounter = totalCounter;
+			this.keysetOrdered = keysetOrdered;
 		}
 
-		public Page<T> getOwners() {
+		public Slice<T> getOwners() {
 			return owners;
 		}
 
@@ -64,8 +157,18 @@ public class OwnerSearchService {
 			return owners.isEmpty();
 		}
 
+		/**
+		 * Whether the owners are in the {@code (lastName, id)} order that
+		 * {@link OwnerSearchService#seekSingleOwnersByLastName} seeks in, so that its
+		 * cursors can be taken from them.
+		 * @return {@literal true} if keyset cursors can start from these owners
+		 */
+		public boolean isKeysetOrdered() {
+			return keysetOrdered;
+		}
+
 		public boolean isSingleResult() {
-			return owners.getTotalElements() == 1;
+			return getTotalElements() == 1;
 		}
 
 		public T getSingleResult() {
@@ -75,6 +178,64 @@ public class OwnerSearchService {
 			return owners.iterator().next();
 		}
 
+		/**
+		 * Return the total number of matches. The last window already tells us, any
+		 * other window falls back to a count query that runs at most once.
+		 * @return the total number of matching owners
+		 */
+		public long getTotalElements() {
+			if (this.totalElements == null) {
+				boolean lastWindow = owners.hasContent() && !owners.hasNext();
+				this.totalElements = lastWindow ? offset() + owners.getNumberOfElements() : totalCounter.getAsLong();
+			}
+			return this.totalElements;
+		}
+
+		public int getTotalPages() {
+			int size = owners.getSize();
+			return (size == 0) ? 1 : (int) Math.ceil((double) getTotalElements() / size);
+		}
+
+		private long offset() {
+			return owners.getPageable().isPaged() ? owners.getPageable().getOffset() : 0;
+		}
+
+	}
+
+	/**
+	 * Keyset (seek) search result: a window of owners plus the cursors needed to move to
+	 * the neighbouring windows. A {@literal null} cursor means there is no such window.
+	 */
+	public static class KeysetResult<T> {
+
+		private final List<T> owners;
+
+		private final OwnerCursor previousCursor;
+
+		private final OwnerCursor nextCursor;
+
+		public KeysetResult(List<T> owners, OwnerCursor previousCursor, OwnerCursor nextCursor) {
+			this.owners = owners;
+			this.previousCursor = previousCursor;
+			this.nextCursor = nextCursor;
+		}
+
+		public List<T> getOwners() {
+			return owners;
+		}
+
+		public OwnerCursor getPreviousCursor() {
+			return previousCursor;
+		}
+
+		public OwnerCursor getNextCursor() {
+			return nextCursor;
+		}
+
+		public boolean isEmpty() {
+			return owners.isEmpty();
+		}
+
 	}
 
 	/**
@@ -92,26 +253,190 @@ public class OwnerSearchService {
 	 * @param lastName the last name to search for (empty string for all owners)
 	 * @return the search result with owners and metadata
 	 */
-	public SearchResult<Owner> findOwnersByLastName(int page, String lastName) {
+	public SearchResult<SingleOwner> findSingleOwnersByLastName(int page, String lastName) {
+		return observeSearch("findSingleOwnersByLastName", () -> searchSingleOwnersByLastName(page, lastName),
+				result -> result.getOwners().getNumberOfElements());
+	}
+
+	private SearchResult<SingleOwner> searchSingleOwnersByLastName(int page, String lastName) {
 		String searchTerm = normalizeSearchTerm(lastName);
-		Page<Owner> owners = findPaginatedByLastName(page, searchTerm);
+		if (isIndexed()) {
+			return findIndexedByLastName(page, searchTerm, ownerRepository::findSingleOwnersByIdIn,
+					SingleOwner::getId);
+		}
+		Slice<SingleOwner> owners = findSingleOwnerPaginatedByLastName(page, searchTerm);
 
-		SearchType type = determineSearchType(owners.getTotalElements());
-		return new SearchResult<>(owners, type);
+		LongSupplier totalCounter = countOnce(() -> ownerRepository.countByLastNameStartingWith(searchTerm));
+		return new SearchResult<>(owners, determineSearchType(owners, totalCounter), totalCounter, true);
 	}
 
 	/**
-	 * Searches for owners by last name with pagination.
-	 * @param page the page number (1-indexed)
+	 * Searches for owners by last name using keyset pagination on {@code (lastName, id)}.
+	 * Unlike {@link #findSingleOwnersByLastName(int, String)} this never issues an OFFSET
+	 * or a COUNT query, so every window costs the same no matter how deep it is.
 	 * @param lastName the last name to search for (empty string for all owners)
-	 * @return the search result with owners and metadata
+	 * @param cursor the keyset position to seek from
+	 * @param direction {@link Direction#FORWARD} for the window after the cursor,
+	 * {@link Direction#BACKWARD} for the window before it
+	 * @return the window of owners and the cursors of its neighbours
 	 */
-	public SearchResult<SingleOwner> findSingleOwnersByLastName(int page, String lastName) {
+	public KeysetResult<SingleOwner> seekSingleOwnersByLastName(String lastName, OwnerCursor cursor,
+			Direction direction) {
+		Assert.notNull(cursor, "Owner cursor must not be null");
+		return observeSearch("seekSingleOwnersByLastName", () -> seekOwners(lastName, cursor, direction),
+				result -> result.getOwners().size());
+	}
+
+	private KeysetResult<SingleOwner> seekOwners(String lastName, OwnerCursor cursor, Direction direction) {
 		String searchTerm = normalizeSearchTerm(lastName);
-		Page<SingleOwner> owners = findSingleOwnerPaginatedByLastName(page, searchTerm);
+		// Fetch one extra row to find out whether another window follows
+		Pageable window = PageRequest.of(0, DEFAULT_PAGE_SIZE + 1);
+
+		if (direction == Direction.BACKWARD) {
+			List<SingleOwner> rows = ownerRepository.findSingleOwnersBefore(searchTerm, cursor.lastName(), cursor.id(),
+					window);
+			boolean hasPrevious = rows.size() > DEFAULT_PAGE_SIZE;
+			List<SingleOwner> owners = new ArrayList<>(hasPrevious ? rows.subList(0, DEFAULT_PAGE_SIZE) : rows);
+			Collections.reverse(owners);
+			return new KeysetResult<>(owners, hasPrevious ? firstCursor(owners) : null, lastCursor(owners));
+		}
+
+		List<SingleOwner> rows = ownerRepository.findSingleOwnersAfter(searchTerm, cursor.lastName(), cursor.id(),
+				window);
+		boolean hasNext = rows.size() > DEFAULT_PAGE_SIZE;
+		List<SingleOwner> owners = hasNext ? rows.subList(0, DEFAULT_PAGE_SIZE) : rows;
+		return new KeysetResult<>(owners, firstCursor(owners), hasNext ? lastCursor(owners) : null);
+	}
+
+	/**
+	 * Suggests owners whose last name starts with the given prefix, for type-ahead. At
+	 * most {@link #MAX_SUGGESTIONS} owners are returned and results are cached per
+	 * prefix. The query runs with a short timeout, which surfaces as a
+	 * {@link org.springframework.dao.QueryTimeoutException} and is never cached.
+	 * <p>
+	 * The cache is read inside the observation rather than through
+	 * {@code @Cacheable}, so that cache hits are timed along with misses.
+	 * @param prefix the last name prefix typed so far
+	 * @return the suggestions in {@code (lastName, id)} order
+	 */
+	public List<OwnerSuggestion> suggestOwners(String prefix) {
+		return observeSearch("suggestOwners", () -> findCachedSuggestions(prefix), List::size);
+	}
 
-		SearchType type = determineSearchType(owners.getTotalElements());
-		return new SearchResult<>(owners, type);
+	private static Cache suggestionCache(CacheManager cacheManager) {
+		return (cacheManager != null) ? cacheManager.getCache(SUGGESTIONS_CACHE) : null;
+	}
+
+	private List<OwnerSuggestion> findCachedSuggestions(String prefix) {
+		if (suggestionCache == null) {
+			return findSuggestions(prefix);
+		}
+		try {
+			return suggestionCache.get(prefix, () -> findSuggestions(prefix));
+		}
+		catch (Cache.ValueRetrievalException ex) {
+			// Surface the failure, a query timeout in particular, as the uncached call would
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private List<OwnerSuggestion> findSuggestions(String prefix) {
+		List<SingleOwner> owners = isIndexed()
+				? ownerRepository.findSingleOwnersByIdIn(lastNameIndex.find(prefix, 0, MAX_SUGGESTIONS).ids())
+				: ownerRepository.findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(prefix,
+						Limit.of(MAX_SUGGESTIONS));
+		return owners.stream()
+			.map(OwnerSuggestion::of)
+			.sorted(Comparator.comparing(OwnerSuggestion::lastName).thenComparingInt(OwnerSuggestion::id))
+			.toList();
+	}
+
+	/**
+	 * Keeps the last-name index, when enabled, and the suggestion cache in step with a
+	 * saved owner.
+	 * @param owner the owner that was just created or updated
+	 */
+	@CacheEvict(cacheNames = SUGGESTIONS_CACHE, allEntries = true)
+	public void onOwnerSaved(Owner owner) {
+		if (lastNameIndex != null && owner.getId() != null) {
+			lastNameIndex.put(owner.getId(), owner.getLastName());
+		}
+	}
+
+	/**
+	 * Keeps the last-name index, when enabled, and the suggestion cache in step with a
+	 * batch of imported owners.
+	 * @param owners the owners that were just inserted
+	 */
+	@CacheEvict(cacheNames = SUGGESTIONS_CACHE, allEntries = true)
+	public void onOwnersImported(List<Owner> owners) {
+		if (lastNameIndex != null) {
+			owners.forEach(owner -> lastNameIndex.put(owner.getId(), owner.getLastName()));
+		}
+	}
+
+	/**
+	 * Run a search as a {@value #SEARCH_OBSERVATION} observation, tagged with the search
+	 * method, the {@link SearchType} and the number of owners returned, bucketed to keep
+	 * the number of time series small. Both result tags are set up front, so failed
+	 * searches carry the same tag keys.
+	 */
+	private <R> R observeSearch(String method, Supplier<R> search, ToIntFunction<R> resultSize) {
+		Observation observation = Observation.createNotStarted(SEARCH_OBSERVATION, this.observationRegistry)
+			.lowCardinalityKeyValue("method", method)
+			.lowCardinalityKeyValue("search.type", "none")
+			.lowCardinalityKeyValue("result.size", "none");
+		return observation.observe(() -> {
+			R result = search.get();
+			int size = resultSize.applyAsInt(result);
+			SearchType searchType = (result instanceof SearchResult<?> paged) ? paged.getSearchType()
+					: determineSearchType(size);
+			observation.lowCardinalityKeyValue("search.type", searchType.name())
+				.lowCardinalityKeyValue("result.size", resultSizeBucket(size));
+			return result;
+		});
+	}
+
+	static String resultSizeBucket(int size) {
+		if (size <= 1) {
+			return String.valueOf(size);
+		}
+		return (size <= DEFAULT_PAGE_SIZE) ? "2-" + DEFAULT_PAGE_SIZE : (DEFAULT_PAGE_SIZE + 1) + "+";
+	}
+
+	private boolean isIndexed() {
+		return lastNameIndex != null && lastNameIndex.isLoaded();
+	}
+
+	/**
+	 * Resolves the matches and the page from the in-memory index and only loads the
+	 * rows of the page from the database. The index orders names by their upper-cased
+	 * characters, which is not necessarily the collation order the keyset queries seek
+	 * in, so the result is not keyset ordered.
+	 */
+	private <T> SearchResult<T> findIndexedByLastName(int page, String lastName,
+			Function<List<Integer>, List<T>> loader, Function<T, Integer> idOf) {
+		Pageable pageable = PageRequest.of(page - 1, DEFAULT_PAGE_SIZE);
+		OwnerLastNameIndex.Window window = lastNameIndex.find(lastName, pageable.getOffset(), DEFAULT_PAGE_SIZE);
+		List<T> owners = new ArrayList<>(window.ids().size());
+		if (!window.ids().isEmpty()) {
+			Map<Integer, T> byId = new HashMap<>();
+			loader.apply(window.ids()).forEach(owner -> byId.put(idOf.apply(owner), owner));
+			window.ids().stream().map(byId::get).filter(Objects::nonNull).forEach(owners::add);
+		}
+		return new SearchResult<>(new PageImpl<>(owners, pageable, window.total()),
+				determineSearchType(window.total()));
+	}
+
+	private static OwnerCursor firstCursor(List<SingleOwner> owners) {
+		return owners.isEmpty() ? null : OwnerCursor.of(owners.get(0));
+	}
+
+	private static OwnerCursor lastCursor(List<SingleOwner> owners) {
+		return owners.isEmpty() ? null : OwnerCursor.of(owners.get(owners.size() - 1));
 	}
 
 	/**
@@ -141,25 +466,39 @@ public class OwnerSearchService {
 	}
 
 	/**
-	 * Finds owners by last name with pagination.
-	 * @param page the page number (1-indexed)
-	 * @param lastName the last name prefix to search for
-	 * @return page of owners
+	 * Determines the type of search result from a single window, without counting. Only
+	 * a page requested past the end of the results needs the total to tell.
+	 * @param owners the window of owners
+	 * @param totalCounter supplies the total number of matches
+	 * @return the search type
 	 */
-	private Page<Owner> findPaginatedByLastName(int page, String lastName) {
-		Pageable pageable = PageRequest.of(page - 1, DEFAULT_PAGE_SIZE);
-		return ownerRepository.findByLastNameStartingWith(lastName, pageable);
+	private SearchType determineSearchType(Slice<?> owners, LongSupplier totalCounter) {
+		if (owners.hasContent()) {
+			boolean onlyMatch = owners.isFirst() && !owners.hasNext() && owners.getNumberOfElements() == 1;
+			return onlyMatch ? SearchType.SINGLE_RESULT : SearchType.MULTIPLE_RESULTS;
+		}
+		return owners.isFirst() ? SearchType.NO_RESULTS : determineSearchType(totalCounter.getAsLong());
+	}
+
+	private static LongSupplier countOnce(LongSupplier counter) {
+		long[] total = { -1 };
+		return () -> {
+			if (total[0] < 0) {
+				total[0] = counter.getAsLong();
+			}
+			return total[0];
+		};
 	}
 
 	/**
 	 * Finds owners by last name with pagination.
 	 * @param page the page number (1-indexed)
 	 * @param lastName the last name prefix to search for
-	 * @return page of owners
+	 * @return window of owners
 	 */
-	private Page<SingleOwner> findSingleOwnerPaginatedByLastName(int page, String lastName) {
-		Pageable pageable = PageRequest.of(page - 1, DEFAULT_PAGE_SIZE);
-		return ownerRepository.findSingleOwnerByLastNameStartingWith(lastName, pageable);
+	private Slice<SingleOwner> findSingleOwnerPaginatedByLastName(int page, String lastName) {
+		Pageable pageable = PageRequest.of(page - 1, DEFAULT_PAGE_SIZE, KEYSET_ORDER);
+		return ownerRepository.findSingleOwnerSliceByLastNameStartingWith(lastName, pageable);
 	}
 
 }
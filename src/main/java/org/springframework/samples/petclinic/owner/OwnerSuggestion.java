@@ -0,0 +1,32 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+/**
+ * Compact owner entry returned by the last-name autocomplete endpoint.
+ *
+ * @param id the owner id
+ * @param firstName the owner's first name
+ * @param lastName the owner's last name
+ * @param city the owner's city, to tell namesakes apart
+ */
+public record OwnerSuggestion(int id, String firstName, String lastName, String city) {
+
+	static OwnerSuggestion of(SingleOwner owner) {
+		return new OwnerSuggestion(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getCity());
+	}
+
+}
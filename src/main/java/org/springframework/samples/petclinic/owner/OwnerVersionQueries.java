@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Optional;
+
+/**
+ * Cheap version lookup of the owner details for conditional GETs, read without loading
+ * the owner, its pets or their visits.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public interface OwnerVersionQueries {
+
+	/**
+	 * Retrieve the version of the details of the owner with the given id. It changes
+	 * whenever the owner or one of its pets is updated, a pet is added, or a visit is
+	 * booked or archived.
+	 * @param ownerId the owner id
+	 * @return an opaque version, empty if the owner does not exist
+	 */
+	Optional<String> findDetailsVersion(int ownerId);
+
+}
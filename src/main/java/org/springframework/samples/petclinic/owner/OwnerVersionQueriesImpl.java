@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * {@link OwnerVersionQueries} using plain JDBC. Owners and pets carry a version bumped by
+ * Hibernate on update; visits are only ever inserted, by JDBC, and archived, so they are
+ * tracked by their count and highest id instead. All of it is aggregated in one
+ * statement from the {@code pets.owner_id} and {@code visits (pet_id, visit_date)}
+ * indexes.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+class OwnerVersionQueriesImpl implements OwnerVersionQueries {
+
+	private static final String SELECT_DETAILS_VERSION = """
+			SELECT o.version,
+				(SELECT COUNT(*) FROM pets p WHERE p.owner_id = o.id) AS pets,
+				(SELECT COALESCE(SUM(p.version), 0) FROM pets p WHERE p.owner_id = o.id) AS pet_versions,
+				(SELECT COUNT(*) FROM visits v JOIN pets p ON p.id = v.pet_id WHERE p.owner_id = o.id) AS visits,
+				(SELECT COALESCE(MAX(v.id), 0) FROM visits v JOIN pets p ON p.id = v.pet_id
+					WHERE p.owner_id = o.id) AS last_visit
+			FROM owners o
+			WHERE o.id = :ownerId
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	OwnerVersionQueriesImpl(DataSource dataSource) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	@Override
+	public Optional<String> findDetailsVersion(int ownerId) {
+		List<String> versions = this.jdbcTemplate.query(SELECT_DETAILS_VERSION,
+				new MapSqlParameterSource("ownerId", ownerId),
+				(rs, rowNum) -> rs.getLong("version") + "." + rs.getLong("pets") + "." + rs.getLong("pet_versions")
+						+ "." + rs.getLong("visits") + "." + rs.getLong("last_visit"));
+		return versions.stream().findFirst();
+	}
+
+}
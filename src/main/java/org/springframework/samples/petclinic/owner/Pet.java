@@ -20,9 +20,12 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.model.NamedEntity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -32,6 +35,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Simple business object representing a pet.
@@ -42,6 +46,8 @@ import jakarta.persistence.Table;
  * @author Wick Dynex
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pets")
 @Table(name = "pets")
 public class Pet extends NamedEntity {
 
@@ -53,11 +59,30 @@ public class Pet extends NamedEntity {
 	@JoinColumn(name = "type_id")
 	private PetType type;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	// Bumped on every update, for conditional GETs of the owner details
+	@Version
+	private Integer version;
+
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pet-visits")
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "pet_id")
 	@OrderBy("date ASC")
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
+	/**
+	 * The owner whose pet index contains this pet, told when the pet is renamed.
+	 */
+	private transient Owner indexedBy;
+
+	@Override
+	public void setName(String name) {
+		String oldName = getName();
+		super.setName(name);
+		if (this.indexedBy != null) {
+			this.indexedBy.petRenamed(this, oldName);
+		}
+	}
+
 	public void setBirthDate(LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -82,4 +107,8 @@ public class Pet extends NamedEntity {
 		getVisits().add(visit);
 	}
 
+	void indexedBy(Owner owner) {
+		this.indexedBy = owner;
+	}
+
 }
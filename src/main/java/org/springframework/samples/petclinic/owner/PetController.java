@@ -16,7 +16,6 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.util.Collection;
-import java.util.Optional;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
@@ -45,17 +44,17 @@ class PetController {
 
 	private static final String VIEWS_PETS_CREATE_OR_UPDATE_FORM = "pets/createOrUpdatePetForm";
 
-	private final OwnerRepository owners;
+	private final OwnerLoader ownerLoader;
 
-	private final PetTypeRepository types;
+	private final PetTypeRegistry types;
 
 	private final PetValidationService petValidationService;
 
 	private final PetService petService;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types, PetValidationService petValidationService,
+	public PetController(OwnerLoader ownerLoader, PetTypeRegistry types, PetValidationService petValidationService,
 			PetService petService) {
-		this.owners = owners;
+		this.ownerLoader = ownerLoader;
 		this.types = types;
 		this.petValidationService = petValidationService;
 		this.petService = petService;
@@ -63,15 +62,12 @@ class PetController {
 
 	@ModelAttribute("types")
 	public Collection<PetType> populatePetTypes() {
-		return this.types.findPetTypes();
+		return this.types.findAll();
 	}
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		return owner;
+		return this.ownerLoader.load(ownerId, OwnerLoader.Graph.PETS);
 	}
 
 	@ModelAttribute("pet")
@@ -82,9 +78,8 @@ class PetController {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
+		// Same instance as the "owner" attribute, loaded once per request
+		Owner owner = this.ownerLoader.load(ownerId, OwnerLoader.Graph.PETS);
 		return owner.getPet(petId);
 	}
 
@@ -19,13 +19,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import io.micrometer.observation.annotation.Observed;
+
 /**
  * Service for managing Pet business logic. Part of the Strangler Fig refactoring to
- * extract business logic from controllers.
+ * extract business logic from controllers. Every call is observed as
+ * {@code petclinic.pet.service}, tagged with the class and method.
  *
  * @author Tech Debt Refactoring Team
  */
 @Service
+@Observed(name = "petclinic.pet.service")
 public class PetService {
 
 	private final OwnerRepository ownerRepository;
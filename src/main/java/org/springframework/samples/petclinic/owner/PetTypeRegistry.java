@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory registry of the {@link PetType}s. Pet types are reference data that change
+ * rarely, so they are read once into an immutable snapshot indexed by name and id, and
+ * {@link PetTypeFormatter} and {@link PetController} are served from that snapshot
+ * instead of querying the {@code types} table on every pet request.
+ * <p>
+ * The snapshot is replaced as a whole, either on the schedule set by
+ * {@code petclinic.pet-types.refresh-interval} or by calling {@link #refresh()} after
+ * changing the pet types.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Component
+public class PetTypeRegistry {
+
+	private final PetTypeRepository types;
+
+	// Not synchronized: a virtual thread blocking on JDBC inside a monitor pins its carrier
+	private final Lock loadLock = new ReentrantLock();
+
+	private volatile Snapshot snapshot;
+
+	public PetTypeRegistry(PetTypeRepository types) {
+		this.types = types;
+	}
+
+	/**
+	 * Return all pet types, ordered by name.
+	 * @return an unmodifiable list of the pet types
+	 */
+	public List<PetType> findAll() {
+		return snapshot().all();
+	}
+
+	/**
+	 * Return the pet type with the given name.
+	 * @param name the exact pet type name
+	 * @return the pet type, or {@code null} if none has that name
+	 */
+	public PetType findByName(String name) {
+		return snapshot().byName().get(name);
+	}
+
+	/**
+	 * Return the pet type with the given id.
+	 * @param id the pet type id
+	 * @return the pet type, or {@code null} if none has that id
+	 */
+	public PetType findById(Integer id) {
+		return snapshot().byId().get(id);
+	}
+
+	/**
+	 * Reload the pet types from the database and replace the current snapshot.
+	 */
+	@Scheduled(fixedDelayString = "${petclinic.pet-types.refresh-interval:10m}",
+			initialDelayString = "${petclinic.pet-types.refresh-interval:10m}")
+	public void refresh() {
+		this.snapshot = Snapshot.of(this.types.findPetTypes());
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = this.snapshot;
+		if (current == null) {
+			this.loadLock.lock();
+			try {
+				current = this.snapshot;
+				if (current == null) {
+					current = Snapshot.of(this.types.findPetTypes());
+					this.snapshot = current;
+				}
+			}
+			finally {
+				this.loadLock.unlock();
+			}
+		}
+		return current;
+	}
+
+	private record Snapshot(List<PetType> all, Map<String, PetType> byName, Map<Integer, PetType> byId) {
+
+		static Snapshot of(List<PetType> types) {
+			Map<String, PetType> byName = new HashMap<>();
+			Map<Integer, PetType> byId = new HashMap<>();
+			for (PetType type : types) {
+				if (type.getName() != null) {
+					byName.putIfAbsent(type.getName(), type);
+				}
+				if (type.getId() != null) {
+					byId.put(type.getId(), type);
+				}
+			}
+			return new Snapshot(List.copyOf(types), Map.copyOf(byName), Map.copyOf(byId));
+		}
+
+	}
+
+}
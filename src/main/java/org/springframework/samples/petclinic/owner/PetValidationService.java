@@ -16,19 +16,22 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.time.LocalDate;
-import java.util.Objects;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
 
+import io.micrometer.observation.annotation.Observed;
+
 /**
  * Service for validating Pet business rules. Part of the Strangler Fig refactoring to
- * extract validation logic from controllers.
+ * extract validation logic from controllers. Every call is observed as
+ * {@code petclinic.pet.validation}, tagged with the class and method.
  *
  * @author Tech Debt Refactoring Team
  */
 @Service
+@Observed(name = "petclinic.pet.validation")
 public class PetValidationService {
 
 	/**
@@ -82,8 +85,9 @@ public class PetValidationService {
 	}
 
 	private boolean isExistingPetWithNameConflict(Pet pet, Owner owner) {
-		Pet existingPet = owner.getPet(pet.getName(), false);
-		return existingPet != null && !Objects.equals(existingPet.getId(), pet.getId());
+		// The edited pet is the instance in the owner's pets, already renamed by binding,
+		// so a lookup by name may find the pet itself: only the other pets count
+		return owner.getOtherPet(pet.getName(), pet) != null;
 	}
 
 }
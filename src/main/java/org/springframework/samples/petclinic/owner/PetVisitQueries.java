@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.samples.petclinic.owner.OwnerDetails.VisitDetails;
+
+/**
+ * Bounded JDBC reads of pet visits for {@link OwnerDetailsRepository}, served by the
+ * {@code (pet_id, visit_date DESC)} index on {@code visits}.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public interface PetVisitQueries {
+
+	/**
+	 * Retrieve the most recent visits of each of the given pets that are not archived.
+	 * @param petIds the pet ids
+	 * @param perPet the maximum number of visits to return per pet
+	 * @return the visits by pet id, most recent first, each with a next slice if the pet
+	 * has older visits, archived ones included; pets that do not exist are absent
+	 */
+	Map<Integer, Slice<VisitDetails>> findRecentVisits(Collection<Integer> petIds, int perPet);
+
+	/**
+	 * Retrieve a page of the visit history of a pet, archived visits included, most recent
+	 * first. No count query is issued.
+	 * @param petId the pet id
+	 * @param pageable the page to retrieve
+	 * @return the visits of the page
+	 */
+	Slice<VisitDetails> findVisitHistory(int petId, Pageable pageable);
+
+}
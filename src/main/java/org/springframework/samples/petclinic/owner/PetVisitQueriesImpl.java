@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.owner.OwnerDetails.VisitDetails;
+
+/**
+ * {@link PetVisitQueries} using plain JDBC. The most recent visits of every pet are
+ * ranked with {@code ROW_NUMBER()}, which H2, MySQL 8 and PostgreSQL all support, so
+ * that one statement reads a bounded number of rows per pet whatever its history. One
+ * visit more than is shown, and whether any visit was moved to {@code visits_archive} by
+ * the {@link VisitArchiver}, tell whether older visits follow; only the visit history
+ * reads the archived visits themselves.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+class PetVisitQueriesImpl implements PetVisitQueries {
+
+	private static final String SELECT_RECENT_VISITS = """
+			SELECT p.id AS pet_id, recent.visit_date, recent.description,
+				EXISTS (SELECT 1 FROM visits_archive a WHERE a.pet_id = p.id) AS archived
+			FROM pets p LEFT JOIN (
+				SELECT pet_id, visit_date, description,
+					ROW_NUMBER() OVER (PARTITION BY pet_id ORDER BY visit_date DESC, id DESC) AS recency
+				FROM visits
+				WHERE pet_id IN (:petIds)) recent ON recent.pet_id = p.id AND recent.recency <= :limit
+			WHERE p.id IN (:petIds)
+			ORDER BY p.id, recent.recency
+			""";
+
+	private static final String SELECT_VISIT_HISTORY = """
+			SELECT visit_date, description FROM (
+				SELECT id, visit_date, description FROM visits WHERE pet_id = :petId
+				UNION ALL
+				SELECT id, visit_date, description FROM visits_archive WHERE pet_id = :petId) history
+			ORDER BY visit_date DESC, id DESC
+			LIMIT :limit OFFSET :offset
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	PetVisitQueriesImpl(DataSource dataSource) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	@Override
+	public Map<Integer, Slice<VisitDetails>> findRecentVisits(Collection<Integer> petIds, int perPet) {
+		Map<Integer, Slice<VisitDetails>> recentVisits = new LinkedHashMap<>();
+		if (petIds.isEmpty()) {
+			return recentVisits;
+		}
+		Map<Integer, List<VisitDetails>> visits = new LinkedHashMap<>();
+		Set<Integer> withOlderVisits = new HashSet<>();
+		// one visit more than is shown tells whether older ones follow
+		MapSqlParameterSource params = new MapSqlParameterSource().addValue("petIds", petIds)
+			.addValue("limit", perPet + 1);
+		this.jdbcTemplate.query(SELECT_RECENT_VISITS, params, rs -> {
+			int petId = rs.getInt("pet_id");
+			List<VisitDetails> petVisits = visits.computeIfAbsent(petId, id -> new ArrayList<>());
+			if (rs.getBoolean("archived")) {
+				withOlderVisits.add(petId);
+			}
+			LocalDate date = rs.getObject("visit_date", LocalDate.class);
+			if (date == null) {
+				// the pet has no visits that are not archived
+				return;
+			}
+			if (petVisits.size() < perPet) {
+				petVisits.add(new VisitDetails(date, rs.getString("description")));
+			}
+			else {
+				withOlderVisits.add(petId);
+			}
+		});
+		Pageable recent = Pageable.ofSize(perPet);
+		visits.forEach((petId, petVisits) -> recentVisits.put(petId,
+				new SliceImpl<>(petVisits, recent, withOlderVisits.contains(petId))));
+		return recentVisits;
+	}
+
+	@Override
+	public Slice<VisitDetails> findVisitHistory(int petId, Pageable pageable) {
+		// one row more than the page tells whether another page follows
+		MapSqlParameterSource params = new MapSqlParameterSource().addValue("petId", petId)
+			.addValue("limit", pageable.getPageSize() + 1)
+			.addValue("offset", pageable.getOffset());
+		List<VisitDetails> visits = this.jdbcTemplate.query(SELECT_VISIT_HISTORY, params,
+				(rs, rowNum) -> new VisitDetails(rs.getObject("visit_date", LocalDate.class),
+						rs.getString("description")));
+		boolean hasNext = visits.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? visits.subList(0, pageable.getPageSize()) : visits, pageable, hasNext);
+	}
+
+}
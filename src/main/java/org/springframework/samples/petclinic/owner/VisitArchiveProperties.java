@@ -0,0 +1,33 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.Period;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the {@link VisitArchiver}, bound from {@code petclinic.visits.archive.*}.
+ *
+ * @param horizon how far back visits stay in the {@code visits} table, older visits are
+ * moved to {@code visits_archive}
+ * @param batchSize the number of visits moved per transaction
+ */
+@ConfigurationProperties("petclinic.visits.archive")
+public record VisitArchiveProperties(@DefaultValue("2y") Period horizon, @DefaultValue("1000") int batchSize) {
+
+}
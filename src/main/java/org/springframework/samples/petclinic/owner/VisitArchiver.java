@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves visits older than {@code petclinic.visits.archive.horizon} from {@code visits}
+ * to {@code visits_archive}, nightly at {@code petclinic.visits.archive.cron}, so that
+ * the table and the index every owner page reads stay the same size over the years.
+ * Only the visit history page reads the archive, through
+ * {@link PetVisitQueries#findVisitHistory}.
+ * <p>
+ * Visits are moved in batches, each copied and deleted in its own transaction. Both
+ * statements select by visit date, so on the partitioned PostgreSQL and MySQL tables
+ * they only touch the partitions of past years. As they bypass Hibernate, the moved
+ * visits and the visit collections of their pets are evicted from the second-level
+ * cache.
+ *
+ * @author Tech Debt Refactoring Team
+ * @see VisitArchiveProperties
+ */
+@Component
+@ConditionalOnProperty(name = "petclinic.visits.archive.enabled", havingValue = "true")
+@EnableConfigurationProperties(VisitArchiveProperties.class)
+class VisitArchiver {
+
+	private static final Log logger = LogFactory.getLog(VisitArchiver.class);
+
+	private static final String SELECT_BATCH = """
+			SELECT id, pet_id FROM visits WHERE visit_date < :cutoff ORDER BY visit_date, id LIMIT :limit
+			""";
+
+	private static final String COPY_BATCH = """
+			INSERT INTO visits_archive (id, pet_id, visit_date, description)
+			SELECT id, pet_id, visit_date, description FROM visits WHERE visit_date < :cutoff AND id IN (:ids)
+			""";
+
+	private static final String DELETE_BATCH = """
+			DELETE FROM visits WHERE visit_date < :cutoff AND id IN (:ids)
+			""";
+
+	private static final String PET_VISITS_ROLE = Pet.class.getName() + ".visits";
+
+	private final VisitArchiveProperties properties;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Cache cache;
+
+	public VisitArchiver(VisitArchiveProperties properties, NamedParameterJdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+		Assert.isTrue(properties.batchSize() > 0, "petclinic.visits.archive.batch-size must be positive");
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+	}
+
+	/**
+	 * Archive the visits older than the configured horizon.
+	 */
+	@Scheduled(cron = "${petclinic.visits.archive.cron:0 0 3 * * *}")
+	public void archiveOldVisits() {
+		LocalDate cutoff = LocalDate.now().minus(this.properties.horizon());
+		int archived = archiveVisitsBefore(cutoff);
+		logger.info("Archived " + archived + " visits before " + cutoff);
+	}
+
+	/**
+	 * Move the visits dated before the given day to the archive.
+	 * @param cutoff the day of the oldest visit to keep
+	 * @return the number of visits moved
+	 */
+	public int archiveVisitsBefore(LocalDate cutoff) {
+		int archived = 0;
+		Batch batch;
+		do {
+			batch = this.transactionTemplate.execute(status -> moveBatch(cutoff));
+			// evicted once committed, so that no reader caches the moved visits again
+			batch.visitIds().forEach(id -> this.cache.evictEntityData(Visit.class, id));
+			batch.petIds().forEach(petId -> this.cache.evictCollectionData(PET_VISITS_ROLE, petId));
+			archived += batch.visitIds().size();
+		}
+		while (batch.visitIds().size() == this.properties.batchSize());
+		return archived;
+	}
+
+	private Batch moveBatch(LocalDate cutoff) {
+		MapSqlParameterSource params = new MapSqlParameterSource().addValue("cutoff", cutoff)
+			.addValue("limit", this.properties.batchSize());
+		Batch batch = new Batch(new ArrayList<>(), new HashSet<>());
+		this.jdbcTemplate.query(SELECT_BATCH, params, rs -> {
+			batch.visitIds().add(rs.getInt("id"));
+			batch.petIds().add(rs.getInt("pet_id"));
+		});
+		if (!batch.visitIds().isEmpty()) {
+			params.addValue("ids", batch.visitIds());
+			this.jdbcTemplate.update(COPY_BATCH, params);
+			this.jdbcTemplate.update(DELETE_BATCH, params);
+		}
+		return batch;
+	}
+
+	private record Batch(List<Integer> visitIds, Set<Integer> petIds) {
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * JSON endpoint for booking many visits in one request, e.g. during intake bursts at
+ * opening time. Each visit gets its own result, so one bad line does not block the
+ * others.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Controller
+class VisitBatchController {
+
+	private final VisitBookingService visitBookingService;
+
+	public VisitBatchController(VisitBookingService visitBookingService) {
+		this.visitBookingService = visitBookingService;
+	}
+
+	@PostMapping(path = "/visits/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<VisitBookingResult>> bookVisits(@RequestBody List<VisitBookingRequest> visits) {
+		if (visits.size() > VisitBookingService.MAX_BATCH_SIZE) {
+			return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
+		}
+		List<VisitBookingResult> results = this.visitBookingService.bookVisits(visits);
+		boolean allBooked = results.stream().allMatch(result -> result.status() == VisitBookingResult.Status.BOOKED);
+		return ResponseEntity.status(allBooked ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * {@link VisitBatchInserts} using plain JDBC batching. Hibernate cannot batch these
+ * inserts itself because visit ids are generated by identity columns. As the inserts
+ * bypass Hibernate, the cached visit collections of the affected pets are evicted from
+ * the second-level cache, again once the transaction has committed.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+class VisitBatchInsertsImpl implements VisitBatchInserts {
+
+	private static final String INSERT_VISIT = """
+			INSERT INTO visits (pet_id, visit_date, description) VALUES (:petId, :date, :description)
+			""";
+
+	private static final String PET_VISITS_ROLE = Pet.class.getName() + ".visits";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final Cache cache;
+
+	VisitBatchInsertsImpl(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+	}
+
+	@Override
+	public int[] insertVisits(List<VisitBookingRequest> visits) {
+		SqlParameterSource[] batch = visits.stream()
+			.map(visit -> new MapSqlParameterSource().addValue("petId", visit.petId())
+				.addValue("date", visit.date())
+				.addValue("description", visit.description()))
+			.toArray(SqlParameterSource[]::new);
+		int[] counts = this.jdbcTemplate.batchUpdate(INSERT_VISIT, batch);
+		Set<Integer> petIds = visits.stream().map(VisitBookingRequest::petId).collect(Collectors.toSet());
+		evictVisitCollections(petIds);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evictVisitCollections(petIds);
+				}
+			});
+		}
+		return counts;
+	}
+
+	private void evictVisitCollections(Set<Integer> petIds) {
+		petIds.forEach(petId -> this.cache.evictCollectionData(PET_VISITS_ROLE, petId));
+	}
+
+}
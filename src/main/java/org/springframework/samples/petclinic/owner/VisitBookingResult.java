@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+/**
+ * Outcome of one visit of a batch booking.
+ *
+ * @param index the position of the visit in the batch
+ * @param petId the pet the visit was requested for
+ * @param status whether the visit was booked
+ * @param errors why the visit was rejected, empty when it was booked
+ */
+public record VisitBookingResult(int index, Integer petId, Status status, List<String> errors) {
+
+	public enum Status {
+
+		BOOKED, REJECTED
+
+	}
+
+	static VisitBookingResult booked(int index, Integer petId) {
+		return new VisitBookingResult(index, petId, Status.BOOKED, List.of());
+	}
+
+	static VisitBookingResult rejected(int index, Integer petId, List<String> errors) {
+		return new VisitBookingResult(index, petId, Status.REJECTED, errors);
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import jakarta.validation.Validator;
+
+/**
+ * Service for booking visits. Part of the Strangler Fig refactoring: instead of adding
+ * the visit to the {@link Owner} aggregate and saving the whole graph, a booking checks
+ * that the pet belongs to the owner and inserts a single row, so its cost does not grow
+ * with the pet's history.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Service
+public class VisitBookingService {
+
+	/**
+	 * Largest number of visits accepted in one batch.
+	 */
+	public static final int MAX_BATCH_SIZE = 500;
+
+	private final VisitRepository visitRepository;
+
+	private final Validator validator;
+
+	public VisitBookingService(VisitRepository visitRepository, Validator validator) {
+		this.visitRepository = visitRepository;
+		this.validator = validator;
+	}
+
+	/**
+	 * Books a visit for a pet of the given owner.
+	 * @param ownerId the owner id
+	 * @param petId the pet id
+	 * @param visit the visit to book
+	 * @throws IllegalArgumentException if the owner has no pet with the given id
+	 */
+	@Transactional
+	public void bookVisit(int ownerId, int petId, Visit visit) {
+		Assert.notNull(visit, "Visit must not be null!");
+		if (visitRepository.countPetOfOwner(ownerId, petId) == 0) {
+			throw new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+		}
+		visitRepository.insertVisit(petId, visit.getDate(), visit.getDescription());
+	}
+
+	/**
+	 * Books many visits at once. Every visit is validated and checked against the
+	 * existing pets, then all valid visits are inserted as one JDBC batch in a single
+	 * transaction. Invalid visits are reported and skipped without failing the others.
+	 * @param visits the visits to book, at most {@link #MAX_BATCH_SIZE}
+	 * @return one result per visit, in the order of the request
+	 */
+	@Transactional
+	public List<VisitBookingResult> bookVisits(List<VisitBookingRequest> visits) {
+		Assert.isTrue(visits.size() <= MAX_BATCH_SIZE, () -> "At most " + MAX_BATCH_SIZE + " visits per batch");
+		Set<Integer> petIds = visits.stream()
+			.filter(Objects::nonNull)
+			.map(VisitBookingRequest::petId)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toSet());
+		Set<Integer> existingPetIds = petIds.isEmpty() ? Set.of() : visitRepository.findExistingPetIds(petIds);
+
+		List<VisitBookingResult> results = new ArrayList<>(visits.size());
+		List<VisitBookingRequest> accepted = new ArrayList<>(visits.size());
+		for (int i = 0; i < visits.size(); i++) {
+			VisitBookingRequest visit = visits.get(i);
+			if (visit == null) {
+				results.add(VisitBookingResult.rejected(i, null, List.of("visit: must not be null")));
+				continue;
+			}
+			List<String> errors = validate(visit, existingPetIds);
+			if (errors.isEmpty()) {
+				accepted.add(visit);
+				results.add(VisitBookingResult.booked(i, visit.petId()));
+			}
+			else {
+				results.add(VisitBookingResult.rejected(i, visit.petId(), errors));
+			}
+		}
+		if (!accepted.isEmpty()) {
+			visitRepository.insertVisits(accepted);
+		}
+		return results;
+	}
+
+	private List<String> validate(VisitBookingRequest visit, Set<Integer> existingPetIds) {
+		List<String> errors = validator.validate(visit)
+			.stream()
+			.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+			.sorted()
+			.collect(Collectors.toCollection(ArrayList::new));
+		if (visit.petId() != null && !existingPetIds.contains(visit.petId())) {
+			errors.add("petId: pet " + visit.petId() + " not found");
+		}
+		return errors;
+	}
+
+}
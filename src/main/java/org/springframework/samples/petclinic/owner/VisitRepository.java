@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Write-side repository for {@link Visit}s. Visits are appended by pet id, one at a time
+ * or as a JDBC batch, without loading the owning {@link Owner} aggregate or the pet's
+ * visit history.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public interface VisitRepository extends Repository<Visit, Integer>, VisitBatchInserts {
+
+	/**
+	 * Count the pets with the given id that belong to the given owner.
+	 * @param ownerId the owner id
+	 * @param petId the pet id
+	 * @return {@literal 1} if the pet belongs to the owner, {@literal 0} otherwise
+	 */
+	@Query("""
+			SELECT COUNT(p) FROM Owner o JOIN o.pets p
+			WHERE o.id = :ownerId AND p.id = :petId
+			""")
+	long countPetOfOwner(int ownerId, int petId);
+
+	/**
+	 * Retrieve which of the given pet ids exist.
+	 * @param petIds the pet ids to look for
+	 * @return the ids of the existing pets
+	 */
+	@Query("SELECT p.id FROM Pet p WHERE p.id IN :petIds")
+	Set<Integer> findExistingPetIds(Collection<Integer> petIds);
+
+	/**
+	 * Insert a visit for the given pet. The statement declares the {@code visits} table
+	 * as its query space, so Hibernate only invalidates the second-level cache regions
+	 * of visits instead of the whole cache.
+	 * @param petId the pet id
+	 * @param date the visit date
+	 * @param description the visit description
+	 * @return the number of inserted rows
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "visits"))
+	@Query(value = "INSERT INTO visits (pet_id, visit_date, description) VALUES (:petId, :date, :description)",
+			nativeQuery = true)
+	int insertVisit(int petId, LocalDate date, String description);
+
+}
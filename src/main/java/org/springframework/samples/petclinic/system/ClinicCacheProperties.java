@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+/**
+ * Size and expiry of the application caches, bound from {@code petclinic.cache.caches.*},
+ * and of the Hibernate second-level cache regions, bound from
+ * {@code petclinic.cache.regions.*}.
+ *
+ * @param caches the cache settings by cache name
+ * @param regions the second-level cache region settings by region name
+ */
+@ConfigurationProperties("petclinic.cache")
+public record ClinicCacheProperties(Map<String, Region> caches, Map<String, Region> regions) {
+
+	public ClinicCacheProperties {
+		caches = (caches != null) ? Map.copyOf(caches) : Map.of();
+		regions = (regions != null) ? Map.copyOf(regions) : Map.of();
+	}
+
+	/**
+	 * Settings of one cache.
+	 *
+	 * @param maximumSize the maximum number of entries
+	 * @param expireAfterWrite how long an entry is kept after it was computed
+	 */
+	public record Region(@DefaultValue("1000") long maximumSize, @DefaultValue("10m") Duration expireAfterWrite) {
+
+		Cache<Object, Object> build() {
+			return Caffeine.newBuilder()
+				.maximumSize(this.maximumSize)
+				.expireAfterWrite(this.expireAfterWrite)
+				.recordStats()
+				.build();
+		}
+
+		CaffeineConfiguration<Object, Object> toJCacheConfiguration() {
+			CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+			configuration.setMaximumSize(OptionalLong.of(this.maximumSize));
+			configuration.setExpireAfterWrite(OptionalLong.of(this.expireAfterWrite.toNanos()));
+			configuration.setStatisticsEnabled(true);
+			return configuration;
+		}
+
+	}
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.owner.PetTypeRepository;
+import org.springframework.samples.petclinic.owner.VisitBookingRequest;
+import org.springframework.samples.petclinic.owner.VisitRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * Fills the database with synthetic owners, pets and visits at production-like volumes,
+ * for benchmarks. Active with the {@code datagen} profile, on top of any database
+ * profile. Generation runs at startup, before the application serves requests, and tops
+ * the owners up to {@code petclinic.datagen.owners}, so a restart against a persistent
+ * database adds nothing.
+ * <p>
+ * Last names follow a Zipf distribution, so that a few are very common and most are
+ * rare; pets per owner and visits per pet follow truncated geometric distributions with
+ * the configured means. Rows are written through the batched inserts of
+ * {@link OwnerRepository} and {@link VisitRepository}.
+ *
+ * @author Tech Debt Refactoring Team
+ * @see DataGeneratorProperties
+ */
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+class DataGenerator implements ApplicationRunner {
+
+	private static final Log logger = LogFactory.getLog(DataGenerator.class);
+
+	private static final String SELECT_PETS = """
+			SELECT id, birth_date FROM pets WHERE owner_id IN (:ownerIds) ORDER BY id
+			""";
+
+	private static final List<String> COMMON_LAST_NAMES = List.of("Smith", "Johnson", "Williams", "Brown", "Jones",
+			"Garcia", "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson",
+			"Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White",
+			"Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King",
+			"Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores", "Green", "Adams", "Nelson", "Baker", "Hall",
+			"Rivera", "Campbell", "Mitchell", "Carter", "Roberts");
+
+	// 25 x 16 x 25 combinations give 10,000 further last names
+	private static final String[] NAME_STARTS = { "Ab", "Bal", "Car", "Dal", "Ed", "Fair", "Gal", "Har", "Ing", "Jes",
+			"Kel", "Lan", "Mar", "Nor", "Os", "Pen", "Quin", "Ros", "Sal", "Tal", "Ul", "Val", "Wes", "Yar", "Zel" };
+
+	private static final String[] NAME_MIDDLES = { "", "a", "e", "i", "o", "en", "er", "in", "on", "ar", "el", "or",
+			"an", "is", "um", "ad" };
+
+	private static final String[] NAME_ENDS = { "son", "ton", "ley", "man", "ford", "wick", "berg", "stein", "ez",
+			"ini", "ard", "by", "field", "well", "wood", "ham", "sen", "ak", "ov", "ski", "lund", "ridge", "mont",
+			"dale", "croft" };
+
+	private static final String[] FIRST_NAMES = { "George", "Betty", "Eduardo", "Harold", "Peter", "Jean", "Jeff",
+			"Maria", "David", "Carlos", "Linda", "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+			"Elizabeth", "William", "Susan", "Richard", "Jessica", "Joseph", "Sarah", "Ana", "Yuki", "Fatima", "Omar",
+			"Olga" };
+
+	private static final String[] STREETS = { "W. Liberty St.", "Cardinal Ave.", "Commerce St.", "Lake St.",
+			"Winter Pl.", "Pine Ln.", "Oak Blvd.", "Elm St.", "Maple Ave.", "River Rd.", "Hill Ct.", "Park Dr." };
+
+	private static final String[] CITIES = { "Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee",
+			"Middleton", "Verona", "Fitchburg", "Stoughton" };
+
+	private static final String[] PET_NAMES = { "Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max",
+			"Lucky", "Mulligan", "Freddy", "Sly", "Bella", "Luna", "Charlie", "Daisy", "Milo", "Coco", "Rocky", "Nala",
+			"Oscar", "Ruby", "Toby", "Lola", "Bailey", "Zoe", "Buddy", "Pepper", "Simba", "Ginger" };
+
+	private static final String[] VISIT_REASONS = { "rabies shot", "neutered", "spayed", "check-up", "vaccination",
+			"dental cleaning", "skin allergy", "ear infection", "limping", "weight check" };
+
+	private static final List<String> POPULAR_PET_TYPES = List.of("dog", "cat", "bird", "hamster", "lizard", "snake");
+
+	private final DataGeneratorProperties properties;
+
+	private final OwnerRepository owners;
+
+	private final PetTypeRepository petTypes;
+
+	private final VisitRepository visits;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	public DataGenerator(DataGeneratorProperties properties, OwnerRepository owners, PetTypeRepository petTypes,
+			VisitRepository visits, NamedParameterJdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager) {
+		Assert.isTrue(properties.batchSize() > 0, "petclinic.datagen.batch-size must be positive");
+		this.properties = properties;
+		this.owners = owners;
+		this.petTypes = petTypes;
+		this.visits = visits;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long existing = this.owners.count();
+		long missing = this.properties.owners() - existing;
+		if (missing <= 0) {
+			logger.info("Data generation skipped: the database already holds " + existing + " owners");
+			return;
+		}
+		List<PetType> types = petTypesByPopularity();
+		Zipf lastNames = new Zipf(this.properties.lastNames(), this.properties.lastNameSkew());
+		Zipf typeRanks = new Zipf(types.size(), 1.0);
+		// Topping up starts from another seed than the first run, not from the same names
+		SplittableRandom random = new SplittableRandom(this.properties.seed() + existing);
+
+		long start = System.nanoTime();
+		long generated = 0;
+		long pets = 0;
+		long visits = 0;
+		while (generated < missing) {
+			int size = (int) Math.min(this.properties.batchSize(), missing - generated);
+			List<Owner> chunk = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				chunk.add(owner(random, lastNames, types, typeRanks));
+			}
+			Integer chunkVisits = this.transactionTemplate.execute(status -> insert(chunk, random));
+			generated += size;
+			pets += chunk.stream().mapToInt(owner -> owner.getPets().size()).sum();
+			visits += (chunkVisits != null) ? chunkVisits : 0;
+			if (logger.isInfoEnabled()) {
+				logger.info("Generated %d of %d owners, %d pets and %d visits in %d s".formatted(generated, missing,
+						pets, visits, Duration.ofNanos(System.nanoTime() - start).toSeconds()));
+			}
+		}
+	}
+
+	private int insert(List<Owner> chunk, SplittableRandom random) {
+		this.owners.insertOwners(chunk);
+		Map<String, Object> params = Map.of("ownerIds", chunk.stream().map(Owner::getId).toList());
+		List<VisitBookingRequest> requests = new ArrayList<>();
+		LocalDate today = LocalDate.now();
+		this.jdbcTemplate.query(SELECT_PETS, params, (RowCallbackHandler) rs -> {
+			int petId = rs.getInt(1);
+			LocalDate birthDate = rs.getObject(2, LocalDate.class);
+			long days = ChronoUnit.DAYS.between(birthDate, today);
+			int count = geometric(random, this.properties.visitsPerPet(), this.properties.maxVisitsPerPet());
+			for (int i = 0; i < count; i++) {
+				LocalDate date = birthDate.plusDays((days > 0) ? random.nextLong(days + 1) : 0);
+				requests.add(new VisitBookingRequest(petId, date, pick(random, VISIT_REASONS)));
+			}
+		});
+		for (int from = 0; from < requests.size(); from += this.properties.batchSize()) {
+			int to = Math.min(from + this.properties.batchSize(), requests.size());
+			this.visits.insertVisits(requests.subList(from, to));
+		}
+		return requests.size();
+	}
+
+	private Owner owner(SplittableRandom random, Zipf lastNames, List<PetType> types, Zipf typeRanks) {
+		Owner owner = new Owner();
+		owner.setFirstName(pick(random, FIRST_NAMES));
+		owner.setLastName(lastName(lastNames.sample(random)));
+		owner.setAddress((1 + random.nextInt(9999)) + " " + pick(random, STREETS));
+		owner.setCity(pick(random, CITIES));
+		owner.setTelephone("608%07d".formatted(random.nextInt(10_000_000)));
+		int petCount = geometric(random, this.properties.petsPerOwner(), this.properties.maxPetsPerOwner());
+		int firstName = random.nextInt(PET_NAMES.length);
+		LocalDate today = LocalDate.now();
+		for (int i = 0; i < petCount; i++) {
+			Pet pet = new Pet();
+			// Pet names are unique per owner
+			String name = PET_NAMES[(firstName + i) % PET_NAMES.length];
+			pet.setName((i < PET_NAMES.length) ? name : name + " " + (i / PET_NAMES.length + 1));
+			pet.setBirthDate(today.minusDays(random.nextInt(20 * 365)));
+			pet.setType(types.get(typeRanks.sample(random)));
+			owner.addPet(pet);
+		}
+		return owner;
+	}
+
+	private List<PetType> petTypesByPopularity() {
+		List<PetType> types = new ArrayList<>(this.petTypes.findPetTypes());
+		Assert.state(!types.isEmpty(), "No pet types to generate pets with");
+		types.sort(Comparator.comparingInt(type -> {
+			int rank = POPULAR_PET_TYPES.indexOf(type.getName());
+			return (rank >= 0) ? rank : POPULAR_PET_TYPES.size();
+		}));
+		return types;
+	}
+
+	static String lastName(int rank) {
+		if (rank < COMMON_LAST_NAMES.size()) {
+			return COMMON_LAST_NAMES.get(rank);
+		}
+		int synthetic = rank - COMMON_LAST_NAMES.size();
+		return NAME_STARTS[synthetic % NAME_STARTS.length]
+				+ NAME_MIDDLES[(synthetic / NAME_STARTS.length) % NAME_MIDDLES.length]
+				+ NAME_ENDS[(synthetic / (NAME_STARTS.length * NAME_MIDDLES.length)) % NAME_ENDS.length];
+	}
+
+	/**
+	 * Sample a geometric distribution with the given mean, truncated at {@code max}.
+	 */
+	static int geometric(SplittableRandom random, double mean, int max) {
+		if (mean <= 0 || max <= 0) {
+			return 0;
+		}
+		double p = 1 / (mean + 1);
+		double count = Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+		return (int) Math.min(count, max);
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	/**
+	 * Samples ranks {@code 0..n-1}, rank {@code k} with a probability proportional to
+	 * {@code 1 / (k + 1)^exponent}.
+	 */
+	static final class Zipf {
+
+		private final double[] cumulative;
+
+		Zipf(int n, double exponent) {
+			Assert.isTrue(n > 0, "At least one rank is required");
+			this.cumulative = new double[n];
+			double sum = 0;
+			for (int k = 0; k < n; k++) {
+				sum += 1 / Math.pow(k + 1, exponent);
+				this.cumulative[k] = sum;
+			}
+			for (int k = 0; k < n; k++) {
+				this.cumulative[k] /= sum;
+			}
+		}
+
+		int sample(SplittableRandom random) {
+			int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+			int rank = (index >= 0) ? index + 1 : -index - 1;
+			return Math.min(rank, this.cumulative.length - 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Volumes and distributions of the synthetic data written by {@link DataGenerator},
+ * bound from {@code petclinic.datagen.*}.
+ *
+ * @param owners the number of owners the database should hold once generation is done
+ * @param lastNames the number of distinct last names
+ * @param lastNameSkew the exponent of the Zipf distribution of last names, {@code 0}
+ * for uniform
+ * @param petsPerOwner the mean number of pets per owner
+ * @param maxPetsPerOwner the largest number of pets of one owner
+ * @param visitsPerPet the mean number of visits per pet
+ * @param maxVisitsPerPet the largest number of visits of one pet
+ * @param batchSize the number of owners written per transaction
+ * @param seed the seed of the random generator, the same seed giving the same data
+ */
+@ConfigurationProperties("petclinic.datagen")
+public record DataGeneratorProperties(@DefaultValue("1000000") long owners, @DefaultValue("10000") int lastNames,
+		@DefaultValue("1.0") double lastNameSkew, @DefaultValue("1.5") double petsPerOwner,
+		@DefaultValue("50") int maxPetsPerOwner, @DefaultValue("4") double visitsPerPet,
+		@DefaultValue("200") int maxVisitsPerPet, @DefaultValue("1000") int batchSize,
+		@DefaultValue("42") long seed) {
+
+}
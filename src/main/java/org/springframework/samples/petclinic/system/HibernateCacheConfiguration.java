@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.net.URI;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache configuration. Hibernate is handed a Caffeine JCache
+ * cache manager in which every region listed under {@code petclinic.cache.regions} is
+ * created up front with its own size bound and expiry. Region hit and miss counts are
+ * published as {@code hibernate.second.level.cache.*} metrics.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ClinicCacheProperties.class)
+class HibernateCacheConfiguration {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(ClinicCacheProperties properties) {
+		// A URI of its own, so that application contexts sharing a JVM (as in tests) do
+		// not share cached entities
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+			.getCacheManager(URI.create("petclinic-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+		properties.regions()
+			.forEach((name, region) -> cacheManager.createCache(name, region.toJCacheConfiguration()));
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+		return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements of every request, for spotting N+1 selects while developing.
+ * Enabled by {@code petclinic.jdbc.statement-count.enabled}, which the {@code dev}
+ * profile sets. The data source is wrapped in a {@link StatementCountingDataSource} and
+ * each request reports its count in the {@value #HEADER} response header and in the
+ * {@value #METRIC} distribution summary, by method and URI pattern.
+ * <p>
+ * Only statements executed on the request thread are counted, so the rows a streamed
+ * response body reads on another thread are not. The header is only set when the
+ * response is not yet committed after the handler has run; the metric is always
+ * recorded.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.jdbc.statement-count.enabled", havingValue = "true")
+class StatementCountConfiguration implements WebMvcConfigurer {
+
+	static final String HEADER = "X-SQL-Statement-Count";
+
+	static final String METRIC = "petclinic.request.statements";
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	StatementCountConfiguration(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Bean
+	static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+					return new StatementCountingDataSource(dataSource);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new StatementCountInterceptor(this.meterRegistry));
+	}
+
+	private static final class StatementCountInterceptor implements HandlerInterceptor {
+
+		private static final String SCOPE_ATTRIBUTE = StatementCountInterceptor.class.getName() + ".scope";
+
+		private final ObjectProvider<MeterRegistry> meterRegistry;
+
+		StatementCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+			this.meterRegistry = meterRegistry;
+		}
+
+		@Override
+		public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+			request.setAttribute(SCOPE_ATTRIBUTE, StatementCounter.open());
+			return true;
+		}
+
+		@Override
+		public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+				ModelAndView modelAndView) {
+			if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof StatementCounter.Scope scope
+					&& !response.isCommitted()) {
+				response.setHeader(HEADER, Long.toString(scope.count()));
+			}
+		}
+
+		@Override
+		public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+				Object handler) {
+			// The thread goes back to the pool; the async dispatch counts on its own
+			complete(request);
+		}
+
+		@Override
+		public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+				Exception ex) {
+			complete(request);
+		}
+
+		private void complete(HttpServletRequest request) {
+			if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof StatementCounter.Scope scope)) {
+				return;
+			}
+			request.removeAttribute(SCOPE_ATTRIBUTE);
+			scope.close();
+			MeterRegistry registry = this.meterRegistry.getIfAvailable();
+			if (registry != null) {
+				Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+				DistributionSummary.builder(METRIC)
+					.baseUnit("statements")
+					.description("SQL statements executed per request")
+					.tag("method", request.getMethod())
+					.tag("uri", (pattern != null) ? pattern.toString() : "UNKNOWN")
+					.register(registry)
+					.record(scope.count());
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+/**
+ * Counts the SQL statements executed on the current thread through a
+ * {@link StatementCountingDataSource}. Counting happens within scopes, which may be
+ * nested: a statement counts towards every scope open on the thread, so that a test can
+ * count the statements of a request whose handling opens a scope of its own.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public final class StatementCounter {
+
+	private static final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+	private static volatile boolean installed;
+
+	private StatementCounter() {
+	}
+
+	/**
+	 * Start counting the statements executed on the current thread.
+	 * @return the scope to read the count from, to be closed on the same thread
+	 */
+	public static Scope open() {
+		Scope scope = new Scope(current.get());
+		current.set(scope);
+		return scope;
+	}
+
+	/**
+	 * Return whether statements are counted at all, that is whether a
+	 * {@link StatementCountingDataSource} has been created.
+	 * @return {@code true} if statements are counted
+	 */
+	public static boolean isInstalled() {
+		return installed;
+	}
+
+	static void installed() {
+		installed = true;
+	}
+
+	static void increment() {
+		for (Scope scope = current.get(); scope != null; scope = scope.parent) {
+			scope.count++;
+		}
+	}
+
+	/**
+	 * The statements counted since a scope was opened.
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		private final Scope parent;
+
+		private long count;
+
+		private Scope(Scope parent) {
+			this.parent = parent;
+		}
+
+		/**
+		 * Return the number of statements executed so far within this scope.
+		 * @return the statement count
+		 */
+		public long count() {
+			return this.count;
+		}
+
+		/**
+		 * Stop counting; the count stays readable.
+		 */
+		@Override
+		public void close() {
+			if (this.parent != null) {
+				current.set(this.parent);
+			}
+			else {
+				current.remove();
+			}
+		}
+
+	}
+
+}
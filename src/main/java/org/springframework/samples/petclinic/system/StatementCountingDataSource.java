@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} proxy that reports every statement execution to the
+ * {@link StatementCounter}: each {@code execute*} call on a statement, prepared statement
+ * or callable statement counts once, a JDBC batch included. Hibernate queries, Spring
+ * Data queries and {@code JdbcTemplate} calls are all counted alike.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+	public StatementCountingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+		StatementCounter.installed();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return (Connection) countingProxy(Connection.class, obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return (Connection) countingProxy(Connection.class,
+				obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private static Object countingProxy(Class<?> type, Object target) {
+		return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+				new CountingInvocationHandler(target));
+	}
+
+	private record CountingInvocationHandler(Object target) implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getName().equals("equals")) {
+				return proxy == args[0];
+			}
+			if (method.getName().equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			if (this.target instanceof Statement && method.getName().startsWith("execute")) {
+				StatementCounter.increment();
+			}
+			Object result;
+			try {
+				result = method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+			// Statements are created by Connection.createStatement, prepareStatement and
+			// prepareCall, each declaring the statement interface it returns
+			if (this.target instanceof Connection && result instanceof Statement
+					&& Statement.class.isAssignableFrom(method.getReturnType())) {
+				return countingProxy(method.getReturnType(), result);
+			}
+			return result;
+		}
+
+	}
+
+}
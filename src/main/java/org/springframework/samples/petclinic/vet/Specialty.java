@@ -15,8 +15,11 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.samples.petclinic.model.NamedEntity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
@@ -26,6 +29,8 @@ import jakarta.persistence.Table;
  * @author Juergen Hoeller
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "specialties")
 @Table(name = "specialties")
 public class Specialty extends NamedEntity {
 
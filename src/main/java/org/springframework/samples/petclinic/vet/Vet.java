@@ -19,8 +19,8 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import org.hibernate.annotations.BatchSize;
 import org.springframework.samples.petclinic.model.NamedEntity;
 import org.springframework.samples.petclinic.model.Person;
 
@@ -30,6 +30,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.xml.bind.annotation.XmlElement;
 
 /**
@@ -44,11 +45,24 @@ import jakarta.xml.bind.annotation.XmlElement;
 @Table(name = "vets")
 public class Vet extends Person {
 
+	// Loaded for a whole list of vets at once rather than with one select per vet
 	@ManyToMany(fetch = FetchType.EAGER)
+	@BatchSize(size = 50)
 	@JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"),
 			inverseJoinColumns = @JoinColumn(name = "specialty_id"))
 	private Set<Specialty> specialties;
 
+	// Bumped on every update, and when specialties change, for conditional GETs
+	@Version
+	private Integer version;
+
+	/**
+	 * Specialties sorted by name, computed on first use and dropped by
+	 * {@link #addSpecialty(Specialty)}. Also recomputed when Hibernate swaps or resizes
+	 * the collection.
+	 */
+	private transient volatile SortedSpecialties sortedSpecialties;
+
 	protected Set<Specialty> getSpecialtiesInternal() {
 		if (this.specialties == null) {
 			this.specialties = new HashSet<>();
@@ -56,11 +70,19 @@ public class Vet extends Person {
 		return this.specialties;
 	}
 
+	/**
+	 * Return the specialties of this vet sorted by name.
+	 * @return an unmodifiable list, the same instance until the specialties change
+	 */
 	@XmlElement
 	public List<Specialty> getSpecialties() {
-		return getSpecialtiesInternal().stream()
-			.sorted(Comparator.comparing(NamedEntity::getName))
-			.collect(Collectors.toList());
+		Set<Specialty> specialties = getSpecialtiesInternal();
+		SortedSpecialties sorted = this.sortedSpecialties;
+		if (sorted == null || !sorted.covers(specialties)) {
+			sorted = new SortedSpecialties(specialties);
+			this.sortedSpecialties = sorted;
+		}
+		return sorted.list();
 	}
 
 	public int getNrOfSpecialties() {
@@ -69,6 +91,27 @@ public class Vet extends Person {
 
 	public void addSpecialty(Specialty specialty) {
 		getSpecialtiesInternal().add(specialty);
+		this.sortedSpecialties = null;
+	}
+
+	/**
+	 * Package-private, so that the version is left out of the JSON and XML views.
+	 * @return the version, 0 for a vet that is not saved yet
+	 */
+	int getVersion() {
+		return (this.version != null) ? this.version : 0;
+	}
+
+	private record SortedSpecialties(Set<Specialty> source, int size, List<Specialty> list) {
+
+		SortedSpecialties(Set<Specialty> source) {
+			this(source, source.size(), source.stream().sorted(Comparator.comparing(NamedEntity::getName)).toList());
+		}
+
+		boolean covers(Set<Specialty> specialties) {
+			return this.source == specialties && this.size == specialties.size();
+		}
+
 	}
 
 }
@@ -42,17 +42,18 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 * @return a <code>Collection</code> of <code>Vet</code>s
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable(cacheNames = "vets", sync = true)
 	Collection<Vet> findAll() throws DataAccessException;
 
 	/**
-	 * Retrieve all <code>Vet</code>s from data store in Pages
+	 * Retrieve all <code>Vet</code>s from data store in Pages. Pages are cached apart
+	 * from the full list, keyed on page number and size.
 	 * @param pageable
 	 * @return
 	 * @throws DataAccessException
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable(cacheNames = "vet-pages", key = "#p0.pageNumber + ':' + #p0.pageSize", sync = true)
 	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.Collection;
+
+/**
+ * Version of a list of vets, aggregated from the {@code version} of every vet, which
+ * Hibernate bumps on update and when its specialties change. The count and highest id
+ * also change when vets are added or removed.
+ *
+ * @param vets the number of vets
+ * @param versions the sum of the vet versions
+ * @param lastId the highest vet id
+ * @author Tech Debt Refactoring Team
+ */
+record VetsVersion(long vets, long versions, int lastId) {
+
+	/**
+	 * Compute the version of the given vets, typically the cached list that is served, so
+	 * that the version always describes the representation it is sent with.
+	 * @param vets the vets
+	 * @return the version
+	 */
+	static VetsVersion of(Collection<Vet> vets) {
+		long versions = 0;
+		int lastId = 0;
+		for (Vet vet : vets) {
+			versions += vet.getVersion();
+			lastId = Math.max(lastId, (vet.getId() != null) ? vet.getId() : 0);
+		}
+		return new VetsVersion(vets.size(), versions, lastId);
+	}
+
+	@Override
+	public String toString() {
+		return this.vets + "." + this.versions + "." + this.lastId;
+	}
+
+}
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS vets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   first_name VARCHAR(30),
   last_name VARCHAR(30),
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(last_name)
 ) engine=InnoDB;
 
@@ -32,6 +33,7 @@ CREATE TABLE IF NOT EXISTS owners (
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(last_name)
 ) engine=InnoDB;
 
@@ -41,15 +43,95 @@ CREATE TABLE IF NOT EXISTS pets (
   birth_date DATE,
   type_id INT(4) UNSIGNED NOT NULL,
   owner_id INT(4) UNSIGNED,
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(name),
   FOREIGN KEY (owner_id) REFERENCES owners(id),
   FOREIGN KEY (type_id) REFERENCES types(id)
 ) engine=InnoDB;
 
+-- Partitioned by year of visit so that archiving old visits only touches old partitions.
+-- MySQL does not support foreign keys on partitioned tables, so pet_id is not one.
 CREATE TABLE IF NOT EXISTS visits (
-  id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT,
   pet_id INT(4) UNSIGNED,
-  visit_date DATE,
+  visit_date DATE NOT NULL,
   description VARCHAR(255),
+  PRIMARY KEY (id, visit_date),
+  INDEX(pet_id, visit_date DESC)
+) engine=InnoDB
+PARTITION BY RANGE COLUMNS(visit_date) (
+  PARTITION p_before_2024 VALUES LESS THAN ('2024-01-01'),
+  PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+  PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+  PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+  PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+  PARTITION p2028 VALUES LESS THAN ('2029-01-01'),
+  PARTITION p2029 VALUES LESS THAN ('2030-01-01'),
+  PARTITION p2030 VALUES LESS THAN ('2031-01-01'),
+  PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- Databases created before visits were partitioned get partitioned here, once: the foreign
+-- key goes, and visit_date joins the primary key, as partitioning requires
+SET @unpartitioned = (SELECT COUNT(*) = 0 FROM information_schema.partitions
+    WHERE table_schema = DATABASE() AND table_name = 'visits' AND partition_name IS NOT NULL);
+
+SET @ddl = IF(@unpartitioned, COALESCE((SELECT CONCAT('ALTER TABLE visits DROP FOREIGN KEY ', constraint_name)
+    FROM information_schema.referential_constraints
+    WHERE constraint_schema = DATABASE() AND table_name = 'visits' LIMIT 1), 'DO 0'), 'DO 0');
+PREPARE partition_visits FROM @ddl;
+EXECUTE partition_visits;
+DEALLOCATE PREPARE partition_visits;
+
+SET @ddl = IF(@unpartitioned, 'ALTER TABLE visits MODIFY visit_date DATE NOT NULL,
+    DROP PRIMARY KEY, ADD PRIMARY KEY (id, visit_date), ADD INDEX (pet_id, visit_date DESC)', 'DO 0');
+PREPARE partition_visits FROM @ddl;
+EXECUTE partition_visits;
+DEALLOCATE PREPARE partition_visits;
+
+SET @ddl = IF(@unpartitioned, 'ALTER TABLE visits PARTITION BY RANGE COLUMNS(visit_date) (
+    PARTITION p_before_2024 VALUES LESS THAN (''2024-01-01''),
+    PARTITION p2024 VALUES LESS THAN (''2025-01-01''),
+    PARTITION p2025 VALUES LESS THAN (''2026-01-01''),
+    PARTITION p2026 VALUES LESS THAN (''2027-01-01''),
+    PARTITION p2027 VALUES LESS THAN (''2028-01-01''),
+    PARTITION p2028 VALUES LESS THAN (''2029-01-01''),
+    PARTITION p2029 VALUES LESS THAN (''2030-01-01''),
+    PARTITION p2030 VALUES LESS THAN (''2031-01-01''),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+  )', 'DO 0');
+PREPARE partition_visits FROM @ddl;
+EXECUTE partition_visits;
+DEALLOCATE PREPARE partition_visits;
+
+CREATE TABLE IF NOT EXISTS visits_archive (
+  id INT(4) UNSIGNED NOT NULL PRIMARY KEY,
+  pet_id INT(4) UNSIGNED,
+  visit_date DATE NOT NULL,
+  description VARCHAR(255),
+  INDEX(pet_id, visit_date DESC),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+
+-- Databases created before owners, pets and vets were versioned get the column here.
+-- MySQL has no ADD COLUMN IF NOT EXISTS, so the ALTER only runs when the column is missing.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'owners' AND column_name = 'version') = 0,
+  'ALTER TABLE owners ADD COLUMN version INT(4) UNSIGNED NOT NULL DEFAULT 0', 'DO 0');
+PREPARE add_version FROM @ddl;
+EXECUTE add_version;
+DEALLOCATE PREPARE add_version;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'pets' AND column_name = 'version') = 0,
+  'ALTER TABLE pets ADD COLUMN version INT(4) UNSIGNED NOT NULL DEFAULT 0', 'DO 0');
+PREPARE add_version FROM @ddl;
+EXECUTE add_version;
+DEALLOCATE PREPARE add_version;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'vets' AND column_name = 'version') = 0,
+  'ALTER TABLE vets ADD COLUMN version INT(4) UNSIGNED NOT NULL DEFAULT 0', 'DO 0');
+PREPARE add_version FROM @ddl;
+EXECUTE add_version;
+DEALLOCATE PREPARE add_version;
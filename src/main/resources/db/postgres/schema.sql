@@ -1,7 +1,8 @@
 CREATE TABLE IF NOT EXISTS vets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name TEXT,
-  last_name  TEXT
+  last_name  TEXT,
+  version    INT NOT NULL DEFAULT 0
 );
 CREATE INDEX ON vets (last_name);
 
@@ -29,7 +30,8 @@ CREATE TABLE IF NOT EXISTS owners (
   last_name  TEXT,
   address    TEXT,
   city       TEXT,
-  telephone  TEXT
+  telephone  TEXT,
+  version    INT NOT NULL DEFAULT 0
 );
 CREATE INDEX ON owners (last_name);
 
@@ -38,15 +40,59 @@ CREATE TABLE IF NOT EXISTS pets (
   name       TEXT,
   birth_date DATE,
   type_id    INT NOT NULL REFERENCES types (id),
-  owner_id   INT REFERENCES owners (id)
+  owner_id   INT REFERENCES owners (id),
+  version    INT NOT NULL DEFAULT 0
 );
 CREATE INDEX ON pets (name);
 CREATE INDEX ON pets (owner_id);
 
+-- Databases created before visits were partitioned move their visits table aside here,
+-- once, and copy its rows into the partitioned table below
+DO '
+BEGIN
+  IF EXISTS (SELECT * FROM pg_class WHERE oid = to_regclass(''visits'') AND relkind = ''r'') THEN
+    ALTER TABLE visits RENAME TO visits_unpartitioned;
+  END IF;
+END';
+
+-- Partitioned by year of visit so that archiving old visits only touches old partitions
 CREATE TABLE IF NOT EXISTS visits (
-  id          INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id          INT GENERATED BY DEFAULT AS IDENTITY,
+  pet_id      INT REFERENCES pets (id),
+  visit_date  DATE NOT NULL,
+  description TEXT,
+  PRIMARY KEY (id, visit_date)
+) PARTITION BY RANGE (visit_date);
+CREATE TABLE IF NOT EXISTS visits_before_2024 PARTITION OF visits FOR VALUES FROM (MINVALUE) TO ('2024-01-01');
+CREATE TABLE IF NOT EXISTS visits_2024 PARTITION OF visits FOR VALUES FROM ('2024-01-01') TO ('2025-01-01');
+CREATE TABLE IF NOT EXISTS visits_2025 PARTITION OF visits FOR VALUES FROM ('2025-01-01') TO ('2026-01-01');
+CREATE TABLE IF NOT EXISTS visits_2026 PARTITION OF visits FOR VALUES FROM ('2026-01-01') TO ('2027-01-01');
+CREATE TABLE IF NOT EXISTS visits_2027 PARTITION OF visits FOR VALUES FROM ('2027-01-01') TO ('2028-01-01');
+CREATE TABLE IF NOT EXISTS visits_2028 PARTITION OF visits FOR VALUES FROM ('2028-01-01') TO ('2029-01-01');
+CREATE TABLE IF NOT EXISTS visits_2029 PARTITION OF visits FOR VALUES FROM ('2029-01-01') TO ('2030-01-01');
+CREATE TABLE IF NOT EXISTS visits_2030 PARTITION OF visits FOR VALUES FROM ('2030-01-01') TO ('2031-01-01');
+CREATE TABLE IF NOT EXISTS visits_default PARTITION OF visits DEFAULT;
+CREATE INDEX ON visits (pet_id, visit_date DESC);
+
+DO '
+BEGIN
+  IF to_regclass(''visits_unpartitioned'') IS NOT NULL THEN
+    INSERT INTO visits (id, pet_id, visit_date, description) OVERRIDING SYSTEM VALUE
+      SELECT id, pet_id, visit_date, description FROM visits_unpartitioned;
+    PERFORM setval(pg_get_serial_sequence(''visits'', ''id''), MAX(id)) FROM visits;
+    DROP TABLE visits_unpartitioned;
+  END IF;
+END';
+
+CREATE TABLE IF NOT EXISTS visits_archive (
+  id          INT PRIMARY KEY,
   pet_id      INT REFERENCES pets (id),
-  visit_date  DATE,
+  visit_date  DATE NOT NULL,
   description TEXT
 );
-CREATE INDEX ON visits (pet_id);
+CREATE INDEX ON visits_archive (pet_id, visit_date DESC);
+
+-- Databases created before owners, pets and vets were versioned get the column here
+ALTER TABLE owners ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE vets ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
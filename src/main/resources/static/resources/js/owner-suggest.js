@@ -0,0 +1,39 @@
+/*
+ * Last-name type-ahead for the find-owners form: fills a datalist from the
+ * suggestion endpoint named by the input's data-suggest-url attribute.
+ */
+(function () {
+  const input = document.querySelector('input[data-suggest-url]');
+  if (!input) {
+    return;
+  }
+  const list = document.getElementById(input.getAttribute('list'));
+  let timer;
+  let pending;
+
+  input.addEventListener('input', function () {
+    clearTimeout(timer);
+    const prefix = input.value.trim();
+    if (!prefix) {
+      list.replaceChildren();
+      return;
+    }
+    timer = setTimeout(function () {
+      if (pending) {
+        pending.abort();
+      }
+      pending = new AbortController();
+      fetch(input.dataset.suggestUrl + '?q=' + encodeURIComponent(prefix), { signal: pending.signal })
+        .then(function (response) { return response.ok ? response.json() : []; })
+        .then(function (owners) {
+          list.replaceChildren(...owners.map(function (owner) {
+            const option = document.createElement('option');
+            option.value = owner.lastName;
+            option.label = owner.firstName + ' ' + owner.lastName + ' (' + owner.city + ')';
+            return option;
+          }));
+        })
+        .catch(function () { /* superseded or failed: keep the previous suggestions */ });
+    }, 150);
+  });
+})();
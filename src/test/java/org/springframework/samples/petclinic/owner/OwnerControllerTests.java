@@ -21,9 +21,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition.Direction;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,15 +37,14 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-import static org.hamcrest.Matchers.empty;
-import static org.hamcrest.Matchers.greaterThan;
-import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasProperty;
-import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -55,6 +58,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Wick Dynex
  */
 @WebMvcTest(OwnerController.class)
+@Import(OwnerLoader.class)
 @DisabledInNativeImage
 @DisabledInAotMode
 class OwnerControllerTests {
@@ -89,6 +93,12 @@ class OwnerControllerTests {
 		return george;
 	}
 
+	private SingleOwner singleOwner(int id) {
+		SingleOwner owner = mock(SingleOwner.class);
+		when(owner.getId()).thenReturn(id);
+		return owner;
+	}
+
 	@BeforeEach
 	void setup() {
 
@@ -97,9 +107,6 @@ class OwnerControllerTests {
 			.willReturn(new PageImpl<>(List.of(george)));
 
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
-		Visit visit = new Visit();
-		visit.setDate(LocalDate.now());
-		george.getPet("Max").getVisits().add(visit);
 
 	}
 
@@ -133,6 +140,37 @@ class OwnerControllerTests {
 			.andExpect(view().name("owners/createOrUpdateOwnerForm"));
 	}
 
+	@Test
+	void testSuggestOwners() throws Exception {
+		given(this.ownerSearchService.suggestOwners("Fr"))
+			.willReturn(List.of(new OwnerSuggestion(TEST_OWNER_ID, "George", "Franklin", "Madison")));
+
+		mockMvc.perform(get("/owners/suggest").param("q", " Fr "))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$[0].id").value(TEST_OWNER_ID))
+			.andExpect(jsonPath("$[0].lastName").value("Franklin"))
+			.andExpect(jsonPath("$[0].pets").doesNotExist());
+	}
+
+	@Test
+	void testSuggestOwnersSkipsBlankQuery() throws Exception {
+		mockMvc.perform(get("/owners/suggest").param("q", " "))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$").isEmpty());
+
+		verify(ownerSearchService, never()).suggestOwners(anyString());
+	}
+
+	@Test
+	void testSuggestOwnersReturnsNothingWhenOverLatencyBudget() throws Exception {
+		given(this.ownerSearchService.suggestOwners("Fr")).willThrow(new QueryTimeoutException("timed out"));
+
+		mockMvc.perform(get("/owners/suggest").param("q", "Fr"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$").isEmpty());
+	}
+
 	@Test
 	void testInitFindForm() throws Exception {
 		mockMvc.perform(get("/owners/find"))
@@ -143,19 +181,19 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindFormSuccess() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of(george(), new Owner()));
-		OwnerSearchService.SearchResult searchResult = new OwnerSearchService.SearchResult(tasks,
+		Page<SingleOwner> tasks = new PageImpl<>(List.of(singleOwner(TEST_OWNER_ID), singleOwner(2)));
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(tasks,
 				OwnerSearchService.SearchType.MULTIPLE_RESULTS);
-		when(this.ownerSearchService.findOwnersByLastName(anyInt(), any())).thenReturn(searchResult);
+		when(this.ownerSearchService.findSingleOwnersByLastName(anyInt(), any())).thenReturn(searchResult);
 		mockMvc.perform(get("/owners?page=1")).andExpect(status().isOk()).andExpect(view().name("owners/ownersList"));
 	}
 
 	@Test
 	void testProcessFindFormByLastName() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of(george()));
-		OwnerSearchService.SearchResult searchResult = new OwnerSearchService.SearchResult(tasks,
+		Page<SingleOwner> tasks = new PageImpl<>(List.of(singleOwner(TEST_OWNER_ID)));
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(tasks,
 				OwnerSearchService.SearchType.SINGLE_RESULT);
-		when(this.ownerSearchService.findOwnersByLastName(1, "Franklin")).thenReturn(searchResult);
+		when(this.ownerSearchService.findSingleOwnersByLastName(1, "Franklin")).thenReturn(searchResult);
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Franklin"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
@@ -163,10 +201,10 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindFormNoOwnersFound() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of());
-		OwnerSearchService.SearchResult searchResult = new OwnerSearchService.SearchResult(tasks,
+		Page<SingleOwner> tasks = new PageImpl<>(List.of());
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(tasks,
 				OwnerSearchService.SearchType.NO_RESULTS);
-		when(this.ownerSearchService.findOwnersByLastName(1, "Unknown Surname")).thenReturn(searchResult);
+		when(this.ownerSearchService.findSingleOwnersByLastName(1, "Unknown Surname")).thenReturn(searchResult);
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Unknown Surname"))
 			.andExpect(status().isOk())
 			.andExpect(model().attributeHasFieldErrors("owner", "lastName"))
@@ -198,6 +236,8 @@ class OwnerControllerTests {
 				.param("telephone", "1616291589"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
+
+		verify(ownerSearchService).onOwnerSaved(argThat(owner -> "Bloggs".equals(owner.getLastName())));
 	}
 
 	@Test
@@ -221,21 +261,6 @@ class OwnerControllerTests {
 			.andExpect(view().name("owners/createOrUpdateOwnerForm"));
 	}
 
-	@Test
-	void testShowOwner() throws Exception {
-		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
-			.andExpect(status().isOk())
-			.andExpect(model().attribute("owner", hasProperty("lastName", is("Franklin"))))
-			.andExpect(model().attribute("owner", hasProperty("firstName", is("George"))))
-			.andExpect(model().attribute("owner", hasProperty("address", is("110 W. Liberty St."))))
-			.andExpect(model().attribute("owner", hasProperty("city", is("Madison"))))
-			.andExpect(model().attribute("owner", hasProperty("telephone", is("6085551023"))))
-			.andExpect(model().attribute("owner", hasProperty("pets", not(empty()))))
-			.andExpect(model().attribute("owner",
-					hasProperty("pets", hasItem(hasProperty("visits", hasSize(greaterThan(0)))))))
-			.andExpect(view().name("owners/ownerDetails"));
-	}
-
 	@Test
 	public void testProcessUpdateOwnerFormWithIdMismatch() throws Exception {
 		int pathOwnerId = 1;
@@ -258,11 +283,11 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindForm_NoResults() throws Exception {
-		Page<Owner> emptyPage = new PageImpl<>(List.of());
-		OwnerSearchService.SearchResult<Owner> searchResult = new OwnerSearchService.SearchResult<>(emptyPage,
+		Page<SingleOwner> emptyPage = new PageImpl<>(List.of());
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(emptyPage,
 				OwnerSearchService.SearchType.NO_RESULTS);
 
-		when(this.ownerSearchService.findOwnersByLastName(1, "Unknown")).thenReturn(searchResult);
+		when(this.ownerSearchService.findSingleOwnersByLastName(1, "Unknown")).thenReturn(searchResult);
 
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Unknown"))
 			.andExpect(status().isOk())
@@ -273,27 +298,26 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindForm_SingleResult() throws Exception {
-		Owner george = george();
-		Page<Owner> page = new PageImpl<>(List.of(george));
+		Page<SingleOwner> page = new PageImpl<>(List.of(singleOwner(TEST_OWNER_ID)));
 
-		OwnerSearchService.SearchResult<Owner> searchResult = new OwnerSearchService.SearchResult<>(page,
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(page,
 				OwnerSearchService.SearchType.SINGLE_RESULT);
 
-		when(this.ownerSearchService.findOwnersByLastName(1, "Franklin")).thenReturn(searchResult);
+		when(this.ownerSearchService.findSingleOwnersByLastName(1, "Franklin")).thenReturn(searchResult);
 
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Franklin"))
 			.andExpect(status().is3xxRedirection())
-			.andExpect(view().name("redirect:/owners/" + george.getId()));
+			.andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
 	}
 
 	@Test
 	void testProcessFindForm_MultipleResults() throws Exception {
-		Page<Owner> page = new PageImpl<>(List.of(george(), new Owner()));
+		Page<SingleOwner> page = new PageImpl<>(List.of(singleOwner(TEST_OWNER_ID), singleOwner(2)));
 
-		OwnerSearchService.SearchResult<Owner> searchResult = new OwnerSearchService.SearchResult<>(page,
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(page,
 				OwnerSearchService.SearchType.MULTIPLE_RESULTS);
 
-		when(this.ownerSearchService.findOwnersByLastName(anyInt(), anyString())).thenReturn(searchResult);
+		when(this.ownerSearchService.findSingleOwnersByLastName(anyInt(), anyString())).thenReturn(searchResult);
 
 		mockMvc.perform(get("/owners?page=1").param("lastName", "F"))
 			.andExpect(status().isOk())
@@ -315,14 +339,14 @@ class OwnerControllerTests {
 
 		mockMvc.perform(get("/only/owners?page=1").param("lastName", "Unknown"))
 			.andExpect(status().isOk())
-			.andExpect(model().attributeHasFieldErrors("ownerRequest", "lastName"))
+			.andExpect(model().attributeHasFieldErrors("owner", "lastName"))
 			.andDo(print())
 			.andExpect(view().name("owners/findOwners"));
 	}
 
 	@Test
 	void testProcessFindFormOnlyOwners_SingleResult() throws Exception {
-		SingleOwner singleOwner = org.mockito.Mockito.mock(SingleOwner.class);
+		SingleOwner singleOwner = mock(SingleOwner.class);
 		when(singleOwner.getId()).thenReturn(1);
 
 		Page<SingleOwner> page = new PageImpl<>(List.of(singleOwner));
@@ -339,8 +363,8 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindFormOnlyOwners_MultipleResults() throws Exception {
-		SingleOwner owner1 = org.mockito.Mockito.mock(SingleOwner.class);
-		SingleOwner owner2 = org.mockito.Mockito.mock(SingleOwner.class);
+		SingleOwner owner1 = mock(SingleOwner.class);
+		SingleOwner owner2 = mock(SingleOwner.class);
 
 		Page<SingleOwner> page = new PageImpl<>(List.of(owner1, owner2));
 
@@ -358,4 +382,77 @@ class OwnerControllerTests {
 			.andExpect(view().name("owners/ownersList"));
 	}
 
+	@Test
+	void testProcessFindFormOnlyOwners_PagesWithoutCursorsWhenNotKeysetOrdered() throws Exception {
+		SingleOwner owner1 = mock(SingleOwner.class);
+		SingleOwner owner2 = mock(SingleOwner.class);
+
+		// An index-ordered window: cursors taken from it would not match the keyset order
+		Page<SingleOwner> page = new PageImpl<>(List.of(owner1, owner2), Pageable.ofSize(2).withPage(1), 5);
+
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(page,
+				OwnerSearchService.SearchType.MULTIPLE_RESULTS);
+
+		when(this.ownerSearchService.findSingleOwnersByLastName(anyInt(), anyString())).thenReturn(searchResult);
+
+		mockMvc.perform(get("/owners?page=2").param("lastName", "F"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeDoesNotExist("previousCursor"))
+			.andExpect(model().attributeDoesNotExist("nextCursor"))
+			.andExpect(content().string(containsString("/owners?lastName=F&amp;page=1")))
+			.andExpect(content().string(containsString("/owners?lastName=F&amp;page=3")));
+	}
+
+	@Test
+	void testProcessFindFormOnlyOwners_KeysetWindow() throws Exception {
+		SingleOwner owner1 = mock(SingleOwner.class);
+		SingleOwner owner2 = mock(SingleOwner.class);
+		OwnerCursor previous = new OwnerCursor("Davis", 2);
+		OwnerCursor next = new OwnerCursor("Davis", 4);
+
+		OwnerSearchService.KeysetResult<SingleOwner> keysetResult = new OwnerSearchService.KeysetResult<>(
+				List.of(owner1, owner2), previous, next);
+
+		when(this.ownerSearchService.seekSingleOwnersByLastName(eq("D"), eq(new OwnerCursor("Coleman", 6)),
+				eq(Direction.FORWARD)))
+			.thenReturn(keysetResult);
+
+		mockMvc
+			.perform(get("/only/owners").param("lastName", "D")
+				.param("after", new OwnerCursor("Coleman", 6).encode()))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("keyset", true))
+			.andExpect(model().attribute("previousCursor", previous.encode()))
+			.andExpect(model().attribute("nextCursor", next.encode()))
+			.andExpect(model().attributeDoesNotExist("totalPages"))
+			.andExpect(view().name("owners/ownersList"));
+	}
+
+	@Test
+	void testProcessFindFormOnlyOwners_KeysetWindowEmpty() throws Exception {
+		when(this.ownerSearchService.seekSingleOwnersByLastName(any(), any(), eq(Direction.BACKWARD)))
+			.thenReturn(new OwnerSearchService.KeysetResult<>(List.of(), null, null));
+
+		mockMvc
+			.perform(get("/only/owners").param("lastName", "Z").param("before", new OwnerCursor("Zed", 1).encode()))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("owner", "lastName", "notFound"))
+			.andExpect(view().name("owners/findOwners"));
+	}
+
+	@Test
+	void testProcessFindFormOnlyOwners_MalformedCursorFallsBackToFirstPage() throws Exception {
+		Page<SingleOwner> page = new PageImpl<>(List.of(singleOwner(TEST_OWNER_ID), singleOwner(2)));
+		OwnerSearchService.SearchResult<SingleOwner> searchResult = new OwnerSearchService.SearchResult<>(page,
+				OwnerSearchService.SearchType.MULTIPLE_RESULTS);
+		when(this.ownerSearchService.findSingleOwnersByLastName(1, "D")).thenReturn(searchResult);
+
+		mockMvc.perform(get("/only/owners").param("lastName", "D").param("page", "3").param("after", "not*a%cursor"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("currentPage", 1))
+			.andExpect(model().attributeDoesNotExist("keyset"))
+			.andExpect(view().name("owners/ownersList"));
+		verify(this.ownerSearchService, never()).seekSingleOwnersByLastName(any(), any(), any());
+	}
+
 }
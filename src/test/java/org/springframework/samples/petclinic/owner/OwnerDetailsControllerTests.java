@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.samples.petclinic.owner.OwnerDetails.PetDetails;
+import org.springframework.samples.petclinic.owner.OwnerDetails.VisitDetails;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link OwnerDetailsController}
+ */
+@WebMvcTest(OwnerDetailsController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerDetailsControllerTests {
+
+	private static final int TEST_OWNER_ID = 1;
+
+	private static final int TEST_PET_ID = 1;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerDetailsRepository ownerDetails;
+
+	@BeforeEach
+	void setup() {
+		PetDetails max = new PetDetails(1, "Max", LocalDate.of(2020, 5, 1), "dog",
+				List.of(new VisitDetails(LocalDate.of(2024, 1, 15), "rabies shot")), true);
+		PetDetails rosy = new PetDetails(2, "Rosy", LocalDate.of(2021, 4, 17), "dog",
+				List.of(new VisitDetails(LocalDate.of(2024, 2, 1), "check-up")), false);
+		given(this.ownerDetails.findDetailsVersion(TEST_OWNER_ID)).willReturn(Optional.of("0.1.0.1.1"));
+		given(this.ownerDetails.findDetailsById(TEST_OWNER_ID)).willReturn(Optional.of(new OwnerDetails(TEST_OWNER_ID,
+				"George", "Franklin", "110 W. Liberty St.", "Madison", "6085551023", List.of(max, rosy))));
+	}
+
+	@Test
+	void testShowOwner() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andExpect(status().isOk())
+			.andExpect(header().string("ETag", containsString("0.1.0.1.1")))
+			.andExpect(model().attributeExists("owner"))
+			.andExpect(view().name("owners/ownerDetails"))
+			.andExpect(content().string(containsString("George Franklin")))
+			.andExpect(content().string(containsString("110 W. Liberty St.")))
+			.andExpect(content().string(containsString("2020-05-01")))
+			.andExpect(content().string(containsString("2024-01-15")))
+			.andExpect(content().string(containsString("rabies shot")))
+			.andExpect(content().string(containsString("1/pets/1/visits/new")))
+			.andExpect(content().string(containsString("1/pets/1/visits\"")));
+	}
+
+	@Test
+	void testShowOwnerLinksVisitHistoryOnlyForPetsWithOlderVisits() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("check-up")))
+			.andExpect(content().string(containsString("1/pets/1/visits\"")))
+			.andExpect(content().string(not(containsString("1/pets/2/visits\""))));
+	}
+
+	@Test
+	void testShowOwnerNotModified() throws Exception {
+		String etag = mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andReturn()
+			.getResponse()
+			.getHeader("ETag");
+
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header("If-None-Match", etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+		then(this.ownerDetails).should().findDetailsById(TEST_OWNER_ID);
+	}
+
+	@Test
+	void testShowOwnerModifiedSinceVersion() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header("If-None-Match", "W/\"0.1.0.1.0-en\""))
+			.andExpect(status().isOk())
+			.andExpect(view().name("owners/ownerDetails"));
+	}
+
+	@Test
+	void testShowOwnerWithFlashMessageIsNotRevalidated() throws Exception {
+		String etag = mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andReturn()
+			.getResponse()
+			.getHeader("ETag");
+
+		mockMvc
+			.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header("If-None-Match", etag)
+				.flashAttr("message", "Owner Values Updated"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("Owner Values Updated")));
+	}
+
+	@Test
+	void testShowVisitHistory() throws Exception {
+		given(this.ownerDetails.findPetName(TEST_OWNER_ID, TEST_PET_ID)).willReturn(Optional.of("Max"));
+		given(this.ownerDetails.findVisitHistory(TEST_PET_ID, PageRequest.of(1, 10)))
+			.willReturn(new SliceImpl<>(List.of(new VisitDetails(LocalDate.of(2019, 3, 4), "check-up")),
+					PageRequest.of(1, 10), true));
+
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", TEST_OWNER_ID, TEST_PET_ID).param("page", "2"))
+			.andExpect(status().isOk())
+			.andExpect(view().name("pets/visitHistory"))
+			.andExpect(model().attribute("petName", "Max"))
+			.andExpect(model().attribute("currentPage", 2))
+			.andExpect(model().attribute("hasNext", true))
+			.andExpect(content().string(containsString("2019-03-04")))
+			.andExpect(content().string(containsString("visits?page=1")))
+			.andExpect(content().string(containsString("visits?page=3")));
+	}
+
+	@Test
+	void testShowVisitHistoryClampsPageToFirst() throws Exception {
+		given(this.ownerDetails.findPetName(TEST_OWNER_ID, TEST_PET_ID)).willReturn(Optional.of("Max"));
+		given(this.ownerDetails.findVisitHistory(TEST_PET_ID, PageRequest.of(0, 10)))
+			.willReturn(new SliceImpl<>(List.of(new VisitDetails(LocalDate.of(2024, 1, 15), "rabies shot")),
+					PageRequest.of(0, 10), false));
+
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", TEST_OWNER_ID, TEST_PET_ID).param("page", "0"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("currentPage", 1))
+			.andExpect(content().string(containsString("2024-01-15")));
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", TEST_OWNER_ID, TEST_PET_ID).param("page", "-3"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("currentPage", 1));
+	}
+
+}
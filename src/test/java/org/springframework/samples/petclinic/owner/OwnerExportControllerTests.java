@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Test class for {@link OwnerExportController}
+ */
+@WebMvcTest(OwnerExportController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerExportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerExportService ownerExportService;
+
+	@Test
+	void testExportOwnersAsCsv() throws Exception {
+		given(this.ownerExportService.exportOwners(eq(OwnerExportFormat.CSV), any())).willAnswer(invocation -> {
+			OutputStream out = invocation.getArgument(1);
+			out.write("id,firstName\r\n1,George\r\n".getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		});
+
+		MvcResult result = mockMvc.perform(get("/owners/export"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith("text/csv"))
+			.andExpect(header().string("Content-Disposition", "attachment; filename=\"owners.csv\""))
+			.andExpect(content().string("id,firstName\r\n1,George\r\n"));
+	}
+
+	@Test
+	void testExportOwnersWithUnknownFormat() throws Exception {
+		mockMvc.perform(get("/owners/export").param("format", "xml")).andExpect(status().isBadRequest());
+		verifyNoInteractions(this.ownerExportService);
+	}
+
+}
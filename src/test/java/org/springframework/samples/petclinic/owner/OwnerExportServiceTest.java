@@ -0,0 +1,76 @@
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerExportServiceTest {
+
+	@Mock
+	private OwnerRepository ownerRepository;
+
+	@Mock
+	private SingleOwner george;
+
+	@Mock
+	private SingleOwner betty;
+
+	private OwnerExportService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new OwnerExportService(ownerRepository, JsonMapper.builder().build());
+		when(george.getId()).thenReturn(1);
+		when(george.getFirstName()).thenReturn("George");
+		when(george.getLastName()).thenReturn("Franklin");
+		when(george.getAddress()).thenReturn("110 W. Liberty St.");
+		when(george.getCity()).thenReturn("Madison");
+		when(george.getTelephone()).thenReturn("6085551023");
+		when(betty.getId()).thenReturn(2);
+		when(betty.getFirstName()).thenReturn("Betty");
+		when(betty.getLastName()).thenReturn("Davis");
+		when(betty.getAddress()).thenReturn("Cardinal \"Apt 2\" Ave., 638");
+		when(betty.getCity()).thenReturn("Sun Prairie");
+		when(betty.getTelephone()).thenReturn("6085551749");
+		when(ownerRepository.streamAllSingleOwners()).thenReturn(Stream.of(george, betty));
+	}
+
+	@Test
+	void exportOwners_shouldWriteQuotedCsvWithHeader() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long count = service.exportOwners(OwnerExportFormat.CSV, out);
+
+		assertThat(count).isEqualTo(2);
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+				id,firstName,lastName,address,city,telephone\r
+				1,George,Franklin,110 W. Liberty St.,Madison,6085551023\r
+				2,Betty,Davis,"Cardinal ""Apt 2"" Ave., 638",Sun Prairie,6085551749\r
+				""");
+	}
+
+	@Test
+	void exportOwners_shouldWriteOneJsonObjectPerLine() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		service.exportOwners(OwnerExportFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).startsWith("{\"id\":1,\"firstName\":\"George\"");
+		assertThat(lines[1]).contains("\"address\":\"Cardinal \\\"Apt 2\\\" Ave., 638\"");
+	}
+
+}
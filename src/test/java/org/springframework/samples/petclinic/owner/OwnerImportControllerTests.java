@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link OwnerImportController}
+ */
+@WebMvcTest(OwnerImportController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerImportControllerTests {
+
+	private static final String CSV = """
+			firstName,lastName,address,city,telephone
+			George,Franklin,110 W. Liberty St.,Madison,6085551023
+			""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerImportService ownerImportService;
+
+	@Test
+	void testImportOwners() throws Exception {
+		given(this.ownerImportService.importOwners(any(InputStream.class)))
+			.willReturn(new OwnerImportReport(1, 1, 0, 0, List.of()));
+
+		mockMvc.perform(post("/owners/import").contentType("text/csv").content(CSV))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("ownersImported").value(1));
+	}
+
+	@Test
+	void testImportOwnersReportsRejectedRows() throws Exception {
+		given(this.ownerImportService.importOwners(any(InputStream.class))).willReturn(new OwnerImportReport(2, 1, 0,
+				1, List.of(new OwnerImportReport.RejectedRow(3, List.of("petType: unknown pet type 'dragon'")))));
+
+		mockMvc.perform(post("/owners/import").contentType("text/csv").content(CSV))
+			.andExpect(status().isMultiStatus())
+			.andExpect(jsonPath("rowsRejected").value(1))
+			.andExpect(jsonPath("rejectedRows[0].line").value(3))
+			.andExpect(jsonPath("rejectedRows[0].errors[0]").value("petType: unknown pet type 'dragon'"));
+	}
+
+	@Test
+	void testImportOwnersRejectsMissingColumns() throws Exception {
+		given(this.ownerImportService.importOwners(any(InputStream.class)))
+			.willThrow(new IllegalArgumentException("Missing columns: telephone"));
+
+		mockMvc.perform(post("/owners/import").contentType("text/csv").content("firstName,lastName\n"))
+			.andExpect(status().isBadRequest());
+	}
+
+}
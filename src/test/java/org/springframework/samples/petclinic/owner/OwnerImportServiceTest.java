@@ -0,0 +1,153 @@
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.validation.Validation;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerImportServiceTest {
+
+	private static final String HEADER = "firstName,lastName,address,city,telephone,petName,petBirthDate,petType\n";
+
+	@Mock
+	private OwnerRepository ownerRepository;
+
+	@Mock
+	private OwnerSearchService ownerSearchService;
+
+	@Mock
+	private PetTypeRepository petTypeRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private OwnerImportService service;
+
+	@BeforeEach
+	void setUp() {
+		PetType cat = new PetType();
+		cat.setId(1);
+		cat.setName("cat");
+		PetType dog = new PetType();
+		dog.setId(2);
+		dog.setName("dog");
+		lenient().when(petTypeRepository.findPetTypes()).thenReturn(List.of(cat, dog));
+		lenient().doAnswer(invocation -> {
+			List<Owner> owners = invocation.getArgument(0);
+			for (int i = 0; i < owners.size(); i++) {
+				owners.get(i).setId(100 + i);
+			}
+			return null;
+		}).when(ownerRepository).insertOwners(anyList());
+		service = new OwnerImportService(ownerRepository, ownerSearchService, new PetTypeRegistry(petTypeRepository),
+				new PetValidationService(), Validation.buildDefaultValidatorFactory().getValidator(),
+				transactionManager);
+	}
+
+	@Test
+	void importOwners_shouldGroupPetsByOwnerAndReportRejectedRows() throws Exception {
+		OwnerImportReport report = importCsv(HEADER + """
+				George,Franklin,110 W. Liberty St.,Madison,6085551023,Leo,2010-09-07,cat
+				George,Franklin,110 W. Liberty St.,Madison,6085551023,Basil,2012-08-06,dog
+				George,Franklin,110 W. Liberty St.,Madison,6085551023,Rex,2012-08-06,dragon
+				Betty,Davis,"638 Cardinal Ave., Apt 2",Sun Prairie,6085551749,,,
+				Eduardo,Rodriquez,2693 Commerce St.,McFarland,12345,Rosy,2011-04-17,dog
+				Eduardo,Rodriquez,2693 Commerce St.,McFarland,12345,Jewel,2010-03-07,dog
+				""");
+
+		assertThat(report.rowsRead()).isEqualTo(6);
+		assertThat(report.ownersImported()).isEqualTo(2);
+		assertThat(report.petsImported()).isEqualTo(2);
+		assertThat(report.rowsRejected()).isEqualTo(3);
+		assertThat(report.rejectedRows()).extracting(OwnerImportReport.RejectedRow::line).containsExactly(4L, 6L, 7L);
+		assertThat(report.rejectedRows().get(0).errors()).containsExactly("petType: unknown pet type 'dragon'");
+		assertThat(report.rejectedRows().get(1).errors()).singleElement().asString().startsWith("telephone: ");
+		assertThat(report.rejectedRows().get(2).errors()).containsExactly("owner: rejected on line 6");
+
+		ArgumentCaptor<List<Owner>> owners = ArgumentCaptor.captor();
+		verify(ownerRepository).insertOwners(owners.capture());
+		assertThat(owners.getValue()).extracting(Owner::getLastName).containsExactly("Franklin", "Davis");
+		assertThat(owners.getValue().get(0).getPets()).extracting(Pet::getName).containsExactly("Leo", "Basil");
+		assertThat(owners.getValue().get(1).getAddress()).isEqualTo("638 Cardinal Ave., Apt 2");
+		verify(ownerSearchService).onOwnersImported(owners.getValue());
+	}
+
+	@Test
+	void importOwners_shouldRejectInvalidPets() throws Exception {
+		OwnerImportReport report = importCsv(HEADER + """
+				George,Franklin,110 W. Liberty St.,Madison,6085551023,Leo,2010-09-07,cat
+				George,Franklin,110 W. Liberty St.,Madison,6085551023,leo,2011-09-07,cat
+				George,Franklin,110 W. Liberty St.,Madison,6085551023,Max,2999-01-01,dog
+				George,Franklin,110 W. Liberty St.,Madison,6085551023, ,07/09/2010,dog
+				""");
+
+		assertThat(report.ownersImported()).isEqualTo(1);
+		assertThat(report.petsImported()).isEqualTo(1);
+		assertThat(report.rejectedRows()).extracting(OwnerImportReport.RejectedRow::line).containsExactly(3L, 4L, 5L);
+		assertThat(report.rejectedRows().get(0).errors()).containsExactly("petName: already exists");
+		assertThat(report.rejectedRows().get(1).errors()).containsExactly("petBirthDate: must not be in the future");
+		assertThat(report.rejectedRows().get(2).errors()).hasSize(2)
+			.contains("petBirthDate: must be a date like 2020-01-31")
+			.anyMatch(error -> error.startsWith("petName: "));
+	}
+
+	@Test
+	void importOwners_shouldInsertInChunks() throws Exception {
+		StringBuilder csv = new StringBuilder(HEADER);
+		int owners = OwnerImportService.CHUNK_SIZE * 2 + 1;
+		for (int i = 0; i < owners; i++) {
+			csv.append("First,Last").append(i).append(",1 Main St.,Madison,6085551023,Pet,2020-01-01,cat\n");
+		}
+
+		OwnerImportReport report = importCsv(csv.toString());
+
+		assertThat(report.ownersImported()).isEqualTo(owners);
+		assertThat(report.petsImported()).isEqualTo(owners);
+		verify(ownerRepository, times(3)).insertOwners(anyList());
+		verify(transactionManager, times(3)).commit(any());
+	}
+
+	@Test
+	void importOwners_shouldAcceptColumnsInAnyOrderAndIgnoreOthers() throws Exception {
+		OwnerImportReport report = importCsv("""
+				id,telephone,city,address,lastName,firstName
+				1,6085551023,Madison,110 W. Liberty St.,Franklin,George
+				""");
+
+		assertThat(report.ownersImported()).isEqualTo(1);
+		assertThat(report.petsImported()).isZero();
+	}
+
+	@Test
+	void importOwners_shouldRequireOwnerColumns() {
+		assertThatThrownBy(() -> importCsv("firstName,lastName\nGeorge,Franklin\n"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Missing columns: address, city, telephone");
+		verify(ownerRepository, never()).insertOwners(anyList());
+	}
+
+	@Test
+	void parseLine_shouldUnquoteValues() {
+		assertThat(OwnerImportService.parseLine("a,\"b, \"\"c\"\"\",,d")).containsExactly("a", "b, \"c\"", "", "d");
+		assertThatIllegalArgumentException().isThrownBy(() -> OwnerImportService.parseLine("a,\"b"));
+	}
+
+	private OwnerImportReport importCsv(String csv) throws Exception {
+		return service.importOwners(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Test class for {@link OwnerLastNameIndex}
+ */
+@ExtendWith(MockitoExtension.class)
+class OwnerLastNameIndexTests {
+
+	@Mock
+	private OwnerRepository owners;
+
+	private OwnerLastNameIndex index;
+
+	@BeforeEach
+	void setup() {
+		given(this.owners.findAllSingleOwners()).willReturn(List.of(owner(1, "Franklin"), owner(2, "Davis"),
+				owner(4, "Davis"), owner(3, "Davison"), owner(5, "Black")));
+		this.index = new OwnerLastNameIndex(this.owners);
+		this.index.load();
+	}
+
+	@Test
+	void shouldFindPrefixMatchesInNameOrder() {
+		OwnerLastNameIndex.Window window = this.index.find("Dav", 0, 5);
+
+		assertThat(window.ids()).containsExactly(2, 4, 3);
+		assertThat(window.total()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldPageThroughAllOwners() {
+		assertThat(this.index.find("", 0, 2).ids()).containsExactly(5, 2);
+		assertThat(this.index.find("", 2, 2).ids()).containsExactly(4, 3);
+		assertThat(this.index.find("", 4, 2).ids()).containsExactly(1);
+		assertThat(this.index.find("", 6, 2).ids()).isEmpty();
+		assertThat(this.index.find("", 6, 2).total()).isEqualTo(5);
+	}
+
+	@Test
+	void shouldNotMatchUnknownPrefix() {
+		assertThat(this.index.find("Daviss", 0, 5).total()).isZero();
+	}
+
+	@Test
+	void shouldMatchPrefixIgnoringCase() {
+		this.index.put(6, "davis");
+
+		assertThat(this.index.find("dav", 0, 5).ids()).containsExactly(2, 4, 6, 3);
+		assertThat(this.index.find("DAVIS", 0, 5).total()).isEqualTo(4);
+		assertThat(this.index.find("", 0, 10).ids()).containsExactly(5, 2, 4, 6, 3, 1);
+	}
+
+	@Test
+	void shouldMoveOwnerWhenLastNameChanges() {
+		this.index.put(3, "Estaban");
+		this.index.put(6, "Davis");
+
+		assertThat(this.index.find("Dav", 0, 5).ids()).containsExactly(2, 4, 6);
+		assertThat(this.index.find("Davison", 0, 5).total()).isZero();
+		assertThat(this.index.find("E", 0, 5).ids()).containsExactly(3);
+		assertThat(this.index.find("", 0, 10).total()).isEqualTo(6);
+	}
+
+	@Test
+	void shouldKeepOwnerFindableWhenOnlyCaseOfLastNameChanges() {
+		this.index.put(2, "DAVIS");
+
+		assertThat(this.index.find("davis", 0, 5).ids()).containsExactly(2, 4, 3);
+		assertThat(this.index.find("", 0, 10).total()).isEqualTo(5);
+	}
+
+	private static SingleOwner owner(int id, String lastName) {
+		return new SingleOwner() {
+			@Override
+			public String getFirstName() {
+				return "";
+			}
+
+			@Override
+			public String getLastName() {
+				return lastName;
+			}
+
+			@Override
+			public String getAddress() {
+				return "";
+			}
+
+			@Override
+			public String getCity() {
+				return "";
+			}
+
+			@Override
+			public String getTelephone() {
+				return "";
+			}
+
+			@Override
+			public Integer getId() {
+				return id;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Walks the owners list the way a user does, from the first page through the "next"
+ * links, over the seeded owners. The offset page and the keyset pages that follow it
+ * must agree on the order, or owners are skipped or shown twice.
+ *
+ * @author Tech Debt Refactoring Team
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OwnerListNavigationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void nextLinksVisitEveryOwnerOnceInLastNameOrder() throws Exception {
+		List<Integer> visited = new ArrayList<>();
+		MockHttpServletRequestBuilder request = get("/owners").param("page", "1");
+		for (int pages = 0; request != null; pages++) {
+			assertThat(pages).as("pages walked").isLessThan(10);
+			Map<String, Object> model = this.mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn()
+				.getModelAndView()
+				.getModel();
+			@SuppressWarnings("unchecked")
+			List<SingleOwner> owners = (List<SingleOwner>) model.get("listOwners");
+			owners.forEach(owner -> visited.add(owner.getId()));
+			String nextCursor = (String) model.get("nextCursor");
+			request = (nextCursor != null) ? get("/owners").param("lastName", "").param("after", nextCursor) : null;
+		}
+		// Black, Coleman, Davis, Davis, Escobito, Estaban, Franklin, McTavish, Rodriquez,
+		// Schroeder
+		assertThat(visited).containsExactly(7, 6, 2, 4, 8, 10, 1, 5, 3, 9);
+	}
+
+}
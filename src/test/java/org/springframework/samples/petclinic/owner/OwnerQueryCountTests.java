@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.samples.petclinic.system.StatementCountAssertions.assertThatStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.assertj.core.api.AbstractLongAssert;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the number of SQL statements issued per owner, pet and visit page, so that the
+ * fetch plans chosen by the controllers do not silently regress to per-row selects or
+ * to loading whole owner graphs for lists. Statements are counted at the data source,
+ * so JDBC reads and writes count as well as Hibernate ones.
+ */
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+		"petclinic.jdbc.statement-count.enabled=true" })
+@AutoConfigureMockMvc
+class OwnerQueryCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void ownersListReadsProjectionsWithoutLoadingOwners() throws Exception {
+		// Betty and Harold Davis fit in one window, so no count query is needed either
+		assertThatStatementsFor("/owners?lastName=Davis").isEqualTo(1);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void ownersListCountsOnlyWhenMoreWindowsFollow() throws Exception {
+		// Window plus count, however many pets and visits the listed owners have
+		assertThatStatementsFor("/owners?page=1").isEqualTo(2);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void singleOwnerMatchRedirectsWithoutLoadingOwner() throws Exception {
+		this.statistics.clear();
+		assertThatStatementCount(() -> this.mockMvc.perform(get("/owners").param("lastName", "Franklin"))
+			.andExpect(status().is3xxRedirection())).isEqualTo(1);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void ownerDetailsLooksUpVersionThenLoadsPetsAndRecentVisits() throws Exception {
+		// Jean Coleman: two pets, each with visits, after the version lookup
+		assertThatStatementsFor("/owners/6").isEqualTo(3);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void unchangedOwnerDetailsOnlyLookUpVersion() throws Exception {
+		String etag = this.mockMvc.perform(get("/owners/6")).andReturn().getResponse().getHeader("ETag");
+		this.statistics.clear();
+		assertThatStatementCount(() -> this.mockMvc.perform(get("/owners/6").header("If-None-Match", etag))
+			.andExpect(status().isNotModified())).isEqualTo(1);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void visitHistoryDoesNotLoadOwnerGraph() throws Exception {
+		// Ownership check and one page of visits
+		assertThatStatementsFor("/owners/6/pets/7/visits").isEqualTo(2);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void petFormLoadsOwnerWithPetsOncePerRequest() throws Exception {
+		// One owner graph shared by the "owner" and "pet" attributes, plus the pet types
+		assertThatStatementsFor("/owners/6/pets/7/edit").isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void visitFormLoadsOwnerGraphInOneQuery() throws Exception {
+		assertThatStatementsFor("/owners/6/pets/7/visits/new").isLessThanOrEqualTo(1);
+	}
+
+	@Test
+	void repeatOwnerLookupIsServedFromSecondLevelCache() throws Exception {
+		this.mockMvc.perform(get("/owners/6/edit")).andExpect(status().isOk());
+		assertThatStatementsFor("/owners/6/edit").isZero();
+		assertThat(this.statistics.getSecondLevelCacheHitCount()).isPositive();
+	}
+
+	@Test
+	@Transactional
+	void bookingVisitDoesNotLoadOwnerGraph() throws Exception {
+		this.statistics.clear();
+		// Ownership check and insert, however many visits the pet already has
+		assertThatStatementCount(() -> this.mockMvc
+			.perform(post("/owners/6/pets/7/visits/new").param("date", "2024-05-01").param("description", "check-up"))
+			.andExpect(status().is3xxRedirection())).isLessThanOrEqualTo(2);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	private AbstractLongAssert<?> assertThatStatementsFor(String url) throws Exception {
+		this.statistics.clear();
+		return assertThatStatementCount(() -> this.mockMvc.perform(get(url)).andExpect(status().isOk()));
+	}
+
+}
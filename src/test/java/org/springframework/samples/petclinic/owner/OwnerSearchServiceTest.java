@@ -5,12 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition.Direction;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
+import io.micrometer.observation.ObservationRegistry;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -28,93 +38,11 @@ class OwnerSearchServiceTest {
 		service = new OwnerSearchService(ownerRepository);
 	}
 
-	@Test
-	void shouldReturnNoResultsWhenPageIsEmpty() {
-		Page<Owner> emptyPage = Page.empty();
-
-		when(ownerRepository.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(emptyPage);
-
-		OwnerSearchService.SearchResult result = service.findOwnersByLastName(1, "Smith");
-
-		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.NO_RESULTS);
-
-		assertThat(result.isEmpty()).isTrue();
-	}
-
-	@Test
-	void shouldReturnSingleResultWhenOneOwnerFound() {
-		Owner owner = new Owner();
-		Page<Owner> page = new PageImpl<>(List.of(owner));
-
-		when(ownerRepository.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(page);
-
-		OwnerSearchService.SearchResult result = service.findOwnersByLastName(1, "Smith");
-
-		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.SINGLE_RESULT);
-
-		assertThat(result.isSingleResult()).isTrue();
-		assertThat(result.getSingleResult()).isEqualTo(owner);
-	}
-
-	@Test
-	void shouldReturnMultipleResultsWhenMoreThanOneOwnerFound() {
-		Owner owner1 = new Owner();
-		Owner owner2 = new Owner();
-
-		Page<Owner> page = new PageImpl<>(List.of(owner1, owner2));
-
-		when(ownerRepository.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(page);
-
-		OwnerSearchService.SearchResult result = service.findOwnersByLastName(1, "Smith");
-
-		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.MULTIPLE_RESULTS);
-
-		assertThat(result.isSingleResult()).isFalse();
-	}
-
-	@Test
-	void shouldThrowExceptionWhenGettingSingleResultButMultipleExist() {
-		Owner owner1 = new Owner();
-		Owner owner2 = new Owner();
-
-		Page<Owner> page = new PageImpl<>(List.of(owner1, owner2));
-
-		when(ownerRepository.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(page);
-
-		OwnerSearchService.SearchResult result = service.findOwnersByLastName(1, "Smith");
-
-		assertThatThrownBy(result::getSingleResult).isInstanceOf(IllegalStateException.class)
-			.hasMessageContaining("Cannot get single result");
-	}
-
-	@Test
-	void shouldNormalizeNullSearchTermToEmptyString() {
-		Page<Owner> emptyPage = Page.empty();
-
-		when(ownerRepository.findByLastNameStartingWith(eq(""), any(Pageable.class))).thenReturn(emptyPage);
-
-		service.findOwnersByLastName(1, null);
-
-		verify(ownerRepository).findByLastNameStartingWith(eq(""), any(Pageable.class));
-	}
-
-	@Test
-	void shouldUseCorrectPaginationIndex() {
-		Page<Owner> emptyPage = Page.empty();
-
-		when(ownerRepository.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(emptyPage);
-
-		service.findOwnersByLastName(2, "Smith");
-
-		verify(ownerRepository).findByLastNameStartingWith(eq("Smith"),
-				argThat(pageable -> pageable.getPageNumber() == 1 && pageable.getPageSize() == 5));
-	}
-
 	@Test
 	void shouldReturnNoResultsWhenPageIsEmptyForSingleOwner() {
 		Page<SingleOwner> emptyPage = Page.empty();
 
-		when(ownerRepository.findSingleOwnerByLastNameStartingWith(anyString(), any(Pageable.class)))
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
 			.thenReturn(emptyPage);
 
 		OwnerSearchService.SearchResult result = service.findSingleOwnersByLastName(1, "Smith");
@@ -159,7 +87,8 @@ class OwnerSearchServiceTest {
 		};
 		Page<SingleOwner> page = new PageImpl<>(List.of(owner));
 
-		when(ownerRepository.findSingleOwnerByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(page);
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(page);
 
 		OwnerSearchService.SearchResult result = service.findSingleOwnersByLastName(1, "Smith");
 
@@ -236,7 +165,8 @@ class OwnerSearchServiceTest {
 
 		Page<SingleOwner> page = new PageImpl<>(List.of(owner1, owner2));
 
-		when(ownerRepository.findSingleOwnerByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(page);
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(page);
 
 		OwnerSearchService.SearchResult result = service.findSingleOwnersByLastName(1, "Smith");
 
@@ -312,7 +242,8 @@ class OwnerSearchServiceTest {
 
 		Page<SingleOwner> page = new PageImpl<>(List.of(owner1, owner2));
 
-		when(ownerRepository.findSingleOwnerByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(page);
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(page);
 
 		OwnerSearchService.SearchResult result = service.findSingleOwnersByLastName(1, "Smith");
 
@@ -324,24 +255,259 @@ class OwnerSearchServiceTest {
 	void shouldNormalizeNullSearchTermToEmptyStringForSingleOwner() {
 		Page<SingleOwner> emptyPage = Page.empty();
 
-		when(ownerRepository.findSingleOwnerByLastNameStartingWith(eq(""), any(Pageable.class))).thenReturn(emptyPage);
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(eq(""), any(Pageable.class)))
+			.thenReturn(emptyPage);
 
 		service.findSingleOwnersByLastName(1, null);
 
-		verify(ownerRepository).findSingleOwnerByLastNameStartingWith(eq(""), any(Pageable.class));
+		verify(ownerRepository).findSingleOwnerSliceByLastNameStartingWith(eq(""), any(Pageable.class));
 	}
 
 	@Test
 	void shouldUseCorrectPaginationIndexForSingleOwner() {
 		Page<SingleOwner> emptyPage = Page.empty();
 
-		when(ownerRepository.findSingleOwnerByLastNameStartingWith(anyString(), any(Pageable.class)))
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
 			.thenReturn(emptyPage);
 
 		service.findSingleOwnersByLastName(2, "Smith");
 
-		verify(ownerRepository).findSingleOwnerByLastNameStartingWith(eq("Smith"),
+		verify(ownerRepository).findSingleOwnerSliceByLastNameStartingWith(eq("Smith"),
 				argThat(pageable -> pageable.getPageNumber() == 1 && pageable.getPageSize() == 5));
 	}
 
+	@Test
+	void shouldReadOffsetPagesInKeysetOrder() {
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(new SliceImpl<>(List.of(singleOwner(2, "Davis"), singleOwner(4, "Davis"))));
+
+		OwnerSearchService.SearchResult<SingleOwner> result = service.findSingleOwnersByLastName(1, "Da");
+
+		assertThat(result.isKeysetOrdered()).isTrue();
+		verify(ownerRepository).findSingleOwnerSliceByLastNameStartingWith(eq("Da"),
+				argThat(pageable -> pageable.getSort().equals(Sort.by("lastName", "id"))));
+	}
+
+	@Test
+	void shouldNotCountWhenFirstWindowHoldsAllMatches() {
+		Slice<SingleOwner> window = new SliceImpl<>(List.of(singleOwner(1, "Smith"), singleOwner(2, "Smithers")),
+				PageRequest.of(0, 5), false);
+
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(window);
+
+		OwnerSearchService.SearchResult<SingleOwner> result = service.findSingleOwnersByLastName(1, "Smith");
+
+		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.MULTIPLE_RESULTS);
+		assertThat(result.getTotalElements()).isEqualTo(2);
+		assertThat(result.getTotalPages()).isEqualTo(1);
+		verify(ownerRepository, never()).countByLastNameStartingWith(anyString());
+	}
+
+	@Test
+	void shouldCountLazilyOnlyOnceWhenAnotherWindowFollows() {
+		Slice<SingleOwner> window = new SliceImpl<>(List.of(singleOwner(1, "Smith"), singleOwner(2, "Smith"),
+				singleOwner(3, "Smith"), singleOwner(4, "Smith"), singleOwner(5, "Smith")), PageRequest.of(0, 5), true);
+
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(window);
+		when(ownerRepository.countByLastNameStartingWith("Smith")).thenReturn(12L);
+
+		OwnerSearchService.SearchResult<SingleOwner> result = service.findSingleOwnersByLastName(1, "Smith");
+
+		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.MULTIPLE_RESULTS);
+		verify(ownerRepository, never()).countByLastNameStartingWith(anyString());
+
+		assertThat(result.getTotalElements()).isEqualTo(12);
+		assertThat(result.getTotalPages()).isEqualTo(3);
+		verify(ownerRepository, times(1)).countByLastNameStartingWith("Smith");
+	}
+
+	@Test
+	void shouldDeriveTotalFromLastWindowPastTheFirstPage() {
+		Slice<SingleOwner> window = new SliceImpl<>(List.of(singleOwner(6, "Smith")), PageRequest.of(1, 5), false);
+
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(window);
+
+		OwnerSearchService.SearchResult<SingleOwner> result = service.findSingleOwnersByLastName(2, "Smith");
+
+		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.MULTIPLE_RESULTS);
+		assertThat(result.getTotalElements()).isEqualTo(6);
+		verify(ownerRepository, never()).countByLastNameStartingWith(anyString());
+	}
+
+	@Test
+	void shouldCountWhenPageIsPastTheEnd() {
+		Slice<SingleOwner> window = new SliceImpl<>(List.of(), PageRequest.of(3, 5), false);
+
+		when(ownerRepository.findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class)))
+			.thenReturn(window);
+		when(ownerRepository.countByLastNameStartingWith("Smith")).thenReturn(0L);
+
+		OwnerSearchService.SearchResult<SingleOwner> result = service.findSingleOwnersByLastName(4, "Smith");
+
+		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.NO_RESULTS);
+	}
+
+	@Test
+	void shouldResolveMatchesFromLastNameIndexAndLoadOnlyThePage() {
+		OwnerLastNameIndex index = mock(OwnerLastNameIndex.class);
+		service = new OwnerSearchService(ownerRepository, index);
+
+		when(index.isLoaded()).thenReturn(true);
+		when(index.find("Da", 5, 5)).thenReturn(new OwnerLastNameIndex.Window(List.of(4, 2), 7));
+		when(ownerRepository.findSingleOwnersByIdIn(List.of(4, 2)))
+			.thenReturn(List.of(singleOwner(2, "Davis"), singleOwner(4, "Davis")));
+
+		OwnerSearchService.SearchResult<SingleOwner> result = service.findSingleOwnersByLastName(2, "Da");
+
+		assertThat(result.getSearchType()).isEqualTo(OwnerSearchService.SearchType.MULTIPLE_RESULTS);
+		assertThat(result.getOwners()).extracting(SingleOwner::getId).containsExactly(4, 2);
+		assertThat(result.getTotalElements()).isEqualTo(7);
+		// The index order is not the collation order the keyset queries seek in
+		assertThat(result.isKeysetOrdered()).isFalse();
+		verify(ownerRepository, never()).findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class));
+		verify(ownerRepository, never()).countByLastNameStartingWith(anyString());
+	}
+
+	@Test
+	void shouldUpdateLastNameIndexWhenOwnerSaved() {
+		OwnerLastNameIndex index = mock(OwnerLastNameIndex.class);
+		service = new OwnerSearchService(ownerRepository, index);
+		Owner owner = new Owner();
+		owner.setId(8);
+		owner.setLastName("Estaban");
+
+		service.onOwnerSaved(owner);
+
+		verify(index).put(8, "Estaban");
+	}
+
+	@Test
+	void shouldServeRepeatedSuggestionsFromCache() {
+		service = new OwnerSearchService(ownerRepository, (OwnerLastNameIndex) null, ObservationRegistry.NOOP,
+				new ConcurrentMapCache(OwnerSearchService.SUGGESTIONS_CACHE));
+		when(ownerRepository.findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Da"), any(Limit.class)))
+			.thenReturn(List.of(singleOwner(2, "Davis"), singleOwner(4, "Davis")));
+
+		service.suggestOwners("Da");
+		List<OwnerSuggestion> suggestions = service.suggestOwners("Da");
+
+		assertThat(suggestions).extracting(OwnerSuggestion::id).containsExactly(2, 4);
+		verify(ownerRepository).findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Da"),
+				any(Limit.class));
+	}
+
+	@Test
+	void shouldNotCacheTimedOutSuggestions() {
+		service = new OwnerSearchService(ownerRepository, (OwnerLastNameIndex) null, ObservationRegistry.NOOP,
+				new ConcurrentMapCache(OwnerSearchService.SUGGESTIONS_CACHE));
+		when(ownerRepository.findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Da"), any(Limit.class)))
+			.thenThrow(new QueryTimeoutException("timed out"))
+			.thenReturn(List.of(singleOwner(2, "Davis")));
+
+		assertThatExceptionOfType(QueryTimeoutException.class).isThrownBy(() -> service.suggestOwners("Da"));
+		assertThat(service.suggestOwners("Da")).extracting(OwnerSuggestion::id).containsExactly(2);
+	}
+
+	@Test
+	void shouldSuggestCappedOwnersByLastNamePrefix() {
+		when(ownerRepository.findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Da"), any(Limit.class)))
+			.thenReturn(List.of(singleOwner(2, "Davis"), singleOwner(4, "Davis")));
+
+		List<OwnerSuggestion> suggestions = service.suggestOwners("Da");
+
+		assertThat(suggestions).extracting(OwnerSuggestion::id).containsExactly(2, 4);
+		verify(ownerRepository).findSuggestionsByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Da"),
+				argThat(limit -> limit.max() == OwnerSearchService.MAX_SUGGESTIONS));
+	}
+
+	@Test
+	void shouldSeekForwardFromCursorWithoutCounting() {
+		List<SingleOwner> window = List.of(singleOwner(11, "Davis"), singleOwner(12, "Davis"), singleOwner(3, "Dawson"),
+				singleOwner(4, "Dean"), singleOwner(9, "Diaz"), singleOwner(2, "Dixon"));
+
+		when(ownerRepository.findSingleOwnersAfter(eq("D"), eq("Daniels"), eq(7), any(Pageable.class)))
+			.thenReturn(window);
+
+		OwnerSearchService.KeysetResult<SingleOwner> result = service.seekSingleOwnersByLastName("D",
+				new OwnerCursor("Daniels", 7), Direction.FORWARD);
+
+		assertThat(result.getOwners()).hasSize(5);
+		assertThat(result.getPreviousCursor()).isEqualTo(new OwnerCursor("Davis", 11));
+		assertThat(result.getNextCursor()).isEqualTo(new OwnerCursor("Diaz", 9));
+		verify(ownerRepository).findSingleOwnersAfter(eq("D"), eq("Daniels"), eq(7),
+				argThat(pageable -> pageable.getPageNumber() == 0 && pageable.getPageSize() == 6));
+		verify(ownerRepository, never()).findSingleOwnerSliceByLastNameStartingWith(anyString(), any(Pageable.class));
+	}
+
+	@Test
+	void shouldNotExposeNextCursorOnLastWindow() {
+		when(ownerRepository.findSingleOwnersAfter(anyString(), anyString(), anyInt(), any(Pageable.class)))
+			.thenReturn(List.of(singleOwner(5, "Escobito")));
+
+		OwnerSearchService.KeysetResult<SingleOwner> result = service.seekSingleOwnersByLastName(null,
+				new OwnerCursor("Davis", 4), Direction.FORWARD);
+
+		assertThat(result.getOwners()).hasSize(1);
+		assertThat(result.getNextCursor()).isNull();
+		verify(ownerRepository).findSingleOwnersAfter(eq(""), eq("Davis"), eq(4), any(Pageable.class));
+	}
+
+	@Test
+	void shouldSeekBackwardAndRestoreAscendingOrder() {
+		when(ownerRepository.findSingleOwnersBefore(anyString(), anyString(), anyInt(), any(Pageable.class)))
+			.thenReturn(List.of(singleOwner(4, "Davis"), singleOwner(2, "Davis")));
+
+		OwnerSearchService.KeysetResult<SingleOwner> result = service.seekSingleOwnersByLastName("D",
+				new OwnerCursor("Franklin", 1), Direction.BACKWARD);
+
+		assertThat(result.getOwners()).extracting(SingleOwner::getId).containsExactly(2, 4);
+		assertThat(result.getPreviousCursor()).isNull();
+		assertThat(result.getNextCursor()).isEqualTo(new OwnerCursor("Davis", 4));
+	}
+
+	@Test
+	void shouldRoundTripOwnerCursor() {
+		OwnerCursor cursor = new OwnerCursor("O'Brien: the second", 42);
+
+		assertThat(OwnerCursor.decode(cursor.encode())).isEqualTo(cursor);
+		assertThatThrownBy(() -> OwnerCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static SingleOwner singleOwner(int id, String lastName) {
+		return new SingleOwner() {
+			@Override
+			public String getFirstName() {
+				return "";
+			}
+
+			@Override
+			public String getLastName() {
+				return lastName;
+			}
+
+			@Override
+			public String getAddress() {
+				return "";
+			}
+
+			@Override
+			public String getCity() {
+				return "";
+			}
+
+			@Override
+			public String getTelephone() {
+				return "";
+			}
+
+			@Override
+			public Integer getId() {
+				return id;
+			}
+		};
+	}
+
 }
@@ -0,0 +1,129 @@
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnerTests {
+
+	private Owner owner;
+
+	private Pet max;
+
+	@BeforeEach
+	void setUp() {
+		owner = new Owner();
+		max = addSavedPet(1, "Max");
+		addSavedPet(2, "Bella");
+	}
+
+	private Pet addSavedPet(Integer id, String name) {
+		Pet pet = new Pet();
+		pet.setName(name);
+		owner.addPet(pet);
+		pet.setId(id);
+		return pet;
+	}
+
+	@Test
+	void shouldFindPetsByIdAndNameIgnoringCase() {
+		assertThat(owner.getPet(1)).isSameAs(max);
+		assertThat(owner.getPet("bELLA").getId()).isEqualTo(2);
+		assertThat(owner.getPet(3)).isNull();
+		assertThat(owner.getPet("Rocky")).isNull();
+	}
+
+	@Test
+	void shouldFindPetAddedAfterLookup() {
+		assertThat(owner.getPet("Rocky")).isNull();
+
+		Pet rocky = addSavedPet(3, "Rocky");
+
+		assertThat(owner.getPet(3)).isSameAs(rocky);
+		assertThat(owner.getPet("rocky")).isSameAs(rocky);
+	}
+
+	@Test
+	void shouldFindRenamedPetByItsNewName() {
+		assertThat(owner.getPet("Max")).isSameAs(max);
+
+		max.setName("Maximus");
+
+		assertThat(owner.getPet("Max")).isNull();
+		assertThat(owner.getPet("Maximus")).isSameAs(max);
+	}
+
+	@Test
+	void shouldFindPetsThatSwappedNames() {
+		Pet bella = owner.getPet("Bella");
+
+		max.setName("Tmp");
+		bella.setName("Max");
+		max.setName("Bella");
+
+		assertThat(owner.getPet("max")).isSameAs(bella);
+		assertThat(owner.getPet("bella")).isSameAs(max);
+		assertThat(owner.getPet("Tmp")).isNull();
+	}
+
+	@Test
+	void shouldFindUnsavedPetRenamedBeforeSaving() {
+		Pet rocky = new Pet();
+		rocky.setName("Rocky");
+		owner.addPet(rocky);
+		assertThat(owner.getPet("Rocky")).isSameAs(rocky);
+
+		rocky.setName("Rocco");
+
+		assertThat(owner.getPet("Rocky")).isNull();
+		assertThat(owner.getPet("rocco")).isSameAs(rocky);
+	}
+
+	@Test
+	void shouldFindOtherPetSharingTheName() {
+		assertThat(owner.getPet("Max")).isSameAs(max);
+		Pet otherMax = addSavedPet(3, "max");
+		Pet bellaCopy = new Pet();
+		bellaCopy.setId(2);
+
+		assertThat(owner.getPet("Max")).isSameAs(max);
+		assertThat(owner.getOtherPet("MAX", max)).isSameAs(otherMax);
+		assertThat(owner.getOtherPet("Max", otherMax)).isSameAs(max);
+		assertThat(owner.getOtherPet("Bella", bellaCopy)).isNull();
+		assertThat(owner.getOtherPet("Bella", max).getId()).isEqualTo(2);
+
+		otherMax.setName("Rocky");
+
+		assertThat(owner.getOtherPet("Max", max)).isNull();
+	}
+
+	@Test
+	void shouldHonourIgnoreNewForUnsavedPets() {
+		Pet rocky = new Pet();
+		rocky.setName("Rocky");
+		owner.addPet(rocky);
+
+		assertThat(owner.getPet("Rocky", false)).isSameAs(rocky);
+		assertThat(owner.getPet("Rocky", true)).isNull();
+		assertThat(owner.getPet(1)).isSameAs(max);
+
+		rocky.setId(3);
+
+		assertThat(owner.getPet(3)).isSameAs(rocky);
+		assertThat(owner.getPet("Rocky", true)).isSameAs(rocky);
+	}
+
+	@Test
+	void shouldSeePetsAddedThroughTheCollection() {
+		assertThat(owner.getPet(3)).isNull();
+
+		Pet rocky = new Pet();
+		rocky.setId(3);
+		rocky.setName("Rocky");
+		owner.getPets().add(rocky);
+
+		assertThat(owner.getPet(3)).isSameAs(rocky);
+	}
+
+}
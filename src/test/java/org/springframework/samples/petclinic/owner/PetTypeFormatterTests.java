@@ -18,6 +18,8 @@ package org.springframework.samples.petclinic.owner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -49,7 +51,7 @@ class PetTypeFormatterTests {
 
 	@BeforeEach
 	void setup() {
-		this.petTypeFormatter = new PetTypeFormatter(types);
+		this.petTypeFormatter = new PetTypeFormatter(new PetTypeRegistry(types));
 	}
 
 	@Test
@@ -67,6 +69,14 @@ class PetTypeFormatterTests {
 		assertThat(petType.getName()).isEqualTo("Bird");
 	}
 
+	@Test
+	void shouldLoadPetTypesOnlyOnce() throws ParseException {
+		given(types.findPetTypes()).willReturn(makePetTypes());
+		petTypeFormatter.parse("Bird", Locale.ENGLISH);
+		petTypeFormatter.parse("Dog", Locale.ENGLISH);
+		verify(types, times(1)).findPetTypes();
+	}
+
 	@Test
 	void shouldThrowParseException() {
 		given(types.findPetTypes()).willReturn(makePetTypes());
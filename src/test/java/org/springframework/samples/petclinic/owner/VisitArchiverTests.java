@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.owner.OwnerDetails.VisitDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test for {@link VisitArchiver}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE,
+		properties = { "petclinic.visits.archive.enabled=true", "petclinic.visits.archive.batch-size=3" })
+@Transactional
+class VisitArchiverTests {
+
+	@Autowired
+	private VisitArchiver archiver;
+
+	@Autowired
+	private OwnerDetailsRepository ownerDetails;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void shouldMoveOldVisitsToArchiveInBatches() {
+		// Visits of 2013-01-01, -02 and -03 fill exactly one batch, the second finds none
+		assertThat(this.archiver.archiveVisitsBefore(LocalDate.of(2013, 1, 4))).isEqualTo(3);
+
+		assertThat(count("visits")).isEqualTo(1);
+		assertThat(count("visits_archive")).isEqualTo(3);
+		assertThat(this.archiver.archiveVisitsBefore(LocalDate.of(2013, 1, 4))).isZero();
+	}
+
+	@Test
+	void shouldShowOnlyHotVisitsOnDetailsAndAllInHistory() {
+		this.archiver.archiveVisitsBefore(LocalDate.of(2013, 1, 4));
+
+		// Jean Coleman's Max (pet 8) and Samantha (pet 7)
+		OwnerDetails details = this.ownerDetails.findDetailsById(6).orElseThrow();
+		assertThat(details.pets().get(0).visits()).isEmpty();
+		assertThat(details.pets().get(1).visits()).extracting(VisitDetails::description).containsExactly("spayed");
+		// Archived visits are older ones, so both pets link to their history
+		assertThat(details.pets()).allMatch(OwnerDetails.PetDetails::hasOlderVisits);
+
+		assertThat(this.ownerDetails.findVisitHistory(7, PageRequest.of(0, 10)).getContent())
+			.extracting(VisitDetails::description)
+			.containsExactly("spayed", "rabies shot");
+		assertThat(this.ownerDetails.findVisitHistory(8, PageRequest.of(0, 10)).getContent())
+			.extracting(VisitDetails::description)
+			.containsExactly("neutered", "rabies shot");
+	}
+
+	private int count(String table) {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link VisitBatchController}
+ */
+@WebMvcTest(VisitBatchController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class VisitBatchControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private VisitBookingService visitBookingService;
+
+	@Test
+	void testBookVisitsReportsEachItem() throws Exception {
+		given(this.visitBookingService.bookVisits(anyList())).willReturn(List.of(VisitBookingResult.booked(0, 7),
+				VisitBookingResult.rejected(1, 99, List.of("petId: pet 99 not found"))));
+
+		mockMvc
+			.perform(post("/visits/batch").contentType(MediaType.APPLICATION_JSON).content("""
+					[{"petId": 7, "date": "2024-05-01", "description": "rabies shot"},
+					 {"petId": 99, "date": "2024-05-01", "description": "check-up"}]
+					"""))
+			.andExpect(status().isMultiStatus())
+			.andExpect(jsonPath("0.status").value("BOOKED"))
+			.andExpect(jsonPath("1.status").value("REJECTED"))
+			.andExpect(jsonPath("1.errors[0]").value("petId: pet 99 not found"));
+	}
+
+	@Test
+	void testBookVisitsAllBooked() throws Exception {
+		given(this.visitBookingService.bookVisits(anyList())).willReturn(List.of(VisitBookingResult.booked(0, 7)));
+
+		mockMvc
+			.perform(post("/visits/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"petId\": 7, \"date\": \"2024-05-01\", \"description\": \"rabies shot\"}]"))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("0.index").value(0));
+	}
+
+	@Test
+	void testBookVisitsRejectsOversizedBatch() throws Exception {
+		String visit = "{\"petId\": 7, \"date\": \"2024-05-01\", \"description\": \"x\"}";
+		String batch = "[" + String.join(",", Collections.nCopies(VisitBookingService.MAX_BATCH_SIZE + 1, visit)) + "]";
+
+		mockMvc.perform(post("/visits/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+			.andExpect(status().is(413));
+
+		verify(visitBookingService, never()).bookVisits(anyList());
+	}
+
+}
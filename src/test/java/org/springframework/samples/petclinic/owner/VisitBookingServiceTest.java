@@ -0,0 +1,86 @@
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.validation.Validation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VisitBookingServiceTest {
+
+	@Mock
+	private VisitRepository visitRepository;
+
+	private VisitBookingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new VisitBookingService(visitRepository, Validation.buildDefaultValidatorFactory().getValidator());
+	}
+
+	@Test
+	void bookVisit_shouldInsertVisitForOwnedPet() {
+		Visit visit = new Visit();
+		visit.setDescription("rabies shot");
+
+		when(visitRepository.countPetOfOwner(6, 7)).thenReturn(1L);
+
+		service.bookVisit(6, 7, visit);
+
+		verify(visitRepository).insertVisit(7, visit.getDate(), "rabies shot");
+	}
+
+	@Test
+	void bookVisit_shouldRejectPetOfAnotherOwner() {
+		when(visitRepository.countPetOfOwner(1, 7)).thenReturn(0L);
+
+		assertThatThrownBy(() -> service.bookVisit(1, 7, new Visit())).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Pet with id 7 not found");
+		verify(visitRepository, never()).insertVisit(anyInt(), any(), any());
+	}
+
+	@Test
+	void bookVisits_shouldBatchValidVisitsAndReportRejectedOnes() {
+		LocalDate date = LocalDate.of(2024, 5, 1);
+		VisitBookingRequest valid = new VisitBookingRequest(7, date, "rabies shot");
+		VisitBookingRequest unknownPet = new VisitBookingRequest(99, date, "check-up");
+		VisitBookingRequest blank = new VisitBookingRequest(8, date, " ");
+		List<VisitBookingRequest> visits = new ArrayList<>(Arrays.asList(valid, unknownPet, blank, null));
+
+		when(visitRepository.findExistingPetIds(Set.of(7, 8, 99))).thenReturn(Set.of(7, 8));
+
+		List<VisitBookingResult> results = service.bookVisits(visits);
+
+		assertThat(results).extracting(VisitBookingResult::status)
+			.containsExactly(VisitBookingResult.Status.BOOKED, VisitBookingResult.Status.REJECTED,
+					VisitBookingResult.Status.REJECTED, VisitBookingResult.Status.REJECTED);
+		assertThat(results.get(1).errors()).containsExactly("petId: pet 99 not found");
+		assertThat(results.get(2).errors()).singleElement().asString().startsWith("description: ");
+		verify(visitRepository).insertVisits(List.of(valid));
+	}
+
+	@Test
+	void bookVisits_shouldRejectOversizedBatch() {
+		List<VisitBookingRequest> visits = new ArrayList<>();
+		for (int i = 0; i <= VisitBookingService.MAX_BATCH_SIZE; i++) {
+			visits.add(new VisitBookingRequest(7, LocalDate.now(), "check-up"));
+		}
+
+		assertThatThrownBy(() -> service.bookVisits(visits)).isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(visitRepository);
+	}
+
+}
@@ -19,8 +19,11 @@ package org.springframework.samples.petclinic.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,13 +31,20 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerDetails;
+import org.springframework.samples.petclinic.owner.OwnerDetailsRepository;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
 import org.springframework.samples.petclinic.owner.Pet;
 import org.springframework.samples.petclinic.owner.PetType;
 import org.springframework.samples.petclinic.owner.PetTypeRepository;
+import org.springframework.samples.petclinic.owner.SingleOwner;
 import org.springframework.samples.petclinic.owner.Visit;
+import org.springframework.samples.petclinic.owner.VisitBookingRequest;
+import org.springframework.samples.petclinic.owner.VisitRepository;
 import org.springframework.samples.petclinic.vet.Vet;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -82,6 +92,12 @@ class ClinicServiceTests {
 	@Autowired
 	protected VetRepository vets;
 
+	@Autowired
+	protected VisitRepository visits;
+
+	@Autowired
+	protected OwnerDetailsRepository ownerDetails;
+
 	private final Pageable pageable = Pageable.unpaged();
 
 	@Test
@@ -93,6 +109,18 @@ class ClinicServiceTests {
 		assertThat(owners).isEmpty();
 	}
 
+	@Test
+	void shouldFindOwnerSliceByLastNameWithoutCounting() {
+		Slice<SingleOwner> owners = this.owners.findSingleOwnerSliceByLastNameStartingWith("Davis",
+				PageRequest.of(0, 1));
+		assertThat(owners).hasSize(1);
+		assertThat(owners.hasNext()).isTrue();
+
+		owners = this.owners.findSingleOwnerSliceByLastNameStartingWith("Davis", PageRequest.of(1, 1));
+		assertThat(owners.hasNext()).isFalse();
+		assertThat(this.owners.countByLastNameStartingWith("Davis")).isEqualTo(2);
+	}
+
 	@Test
 	void shouldFindSingleOwnerWithPet() {
 		Optional<Owner> optionalOwner = this.owners.findById(1);
@@ -104,6 +132,64 @@ class ClinicServiceTests {
 		assertThat(owner.getPets().get(0).getType().getName()).isEqualTo("cat");
 	}
 
+	@Test
+	void shouldStreamAllOwnersInIdOrder() {
+		try (Stream<SingleOwner> owners = this.owners.streamAllSingleOwners()) {
+			assertThat(owners.map(SingleOwner::getId)).hasSize(10).isSorted();
+		}
+	}
+
+	@Test
+	void shouldFindOwnerDetailsWithPetsAndVisits() {
+		Optional<OwnerDetails> optionalDetails = this.ownerDetails.findDetailsById(6);
+		assertThat(optionalDetails).isPresent();
+		OwnerDetails details = optionalDetails.get();
+		assertThat(details.lastName()).isEqualTo("Coleman");
+		assertThat(details.pets()).extracting(OwnerDetails.PetDetails::name).containsExactly("Max", "Samantha");
+		assertThat(details.pets().get(0).type()).isEqualTo("cat");
+		assertThat(details.pets().get(0).visits()).extracting(OwnerDetails.VisitDetails::description)
+			.containsExactly("neutered", "rabies shot");
+		assertThat(details.pets().get(1).visits()).extracting(OwnerDetails.VisitDetails::description)
+			.containsExactly("spayed", "rabies shot");
+
+		assertThat(this.ownerDetails.findDetailsById(999)).isEmpty();
+	}
+
+	@Test
+	@Transactional
+	void shouldShowRecentVisitsAndPageThroughOlderOnes() {
+		List<VisitBookingRequest> requests = new ArrayList<>();
+		for (int day = 1; day <= 6; day++) {
+			requests.add(new VisitBookingRequest(7, LocalDate.of(2020, 1, day), "visit " + day));
+		}
+		// Max gets exactly as many visits as are shown, so none is older
+		for (int day = 1; day <= 3; day++) {
+			requests.add(new VisitBookingRequest(8, LocalDate.of(2020, 2, day), "visit " + day));
+		}
+		this.visits.insertVisits(requests);
+
+		OwnerDetails details = this.ownerDetails.findDetailsById(6).orElseThrow();
+		OwnerDetails.PetDetails max = details.pets().get(0);
+		assertThat(max.visits()).hasSize(OwnerDetailsRepository.RECENT_VISITS_PER_PET);
+		assertThat(max.hasOlderVisits()).isFalse();
+		OwnerDetails.PetDetails samantha = details.pets().get(1);
+		assertThat(samantha.visits()).hasSize(OwnerDetailsRepository.RECENT_VISITS_PER_PET)
+			.extracting(OwnerDetails.VisitDetails::description)
+			.startsWith("visit 6", "visit 5");
+		assertThat(samantha.hasOlderVisits()).isTrue();
+
+		Slice<OwnerDetails.VisitDetails> first = this.ownerDetails.findVisitHistory(7, PageRequest.of(0, 5));
+		assertThat(first.getContent()).hasSize(5);
+		assertThat(first.hasNext()).isTrue();
+		Slice<OwnerDetails.VisitDetails> second = this.ownerDetails.findVisitHistory(7, PageRequest.of(1, 5));
+		assertThat(second.getContent()).extracting(OwnerDetails.VisitDetails::description)
+			.containsExactly("visit 1", "spayed", "rabies shot");
+		assertThat(second.hasNext()).isFalse();
+
+		assertThat(this.ownerDetails.findPetName(6, 7)).contains("Samantha");
+		assertThat(this.ownerDetails.findPetName(1, 7)).isEmpty();
+	}
+
 	@Test
 	@Transactional
 	void shouldInsertOwner() {
@@ -201,6 +287,22 @@ class ClinicServiceTests {
 		assertThat(pet7.getName()).isEqualTo(newName);
 	}
 
+	@Test
+	@Transactional
+	void shouldChangeOwnerDetailsVersionWhenPetOrVisitsChange() {
+		String version = this.ownerDetails.findDetailsVersion(6).orElseThrow();
+
+		Owner owner6 = this.owners.findById(6).orElseThrow();
+		owner6.getPet(7).setName("Samantha");
+		this.owners.saveAndFlush(owner6);
+		String renamed = this.ownerDetails.findDetailsVersion(6).orElseThrow();
+		assertThat(renamed).isNotEqualTo(version);
+
+		this.visits.insertVisit(7, LocalDate.now(), "test");
+		assertThat(this.ownerDetails.findDetailsVersion(6)).get().isNotEqualTo(renamed);
+		assertThat(this.ownerDetails.findDetailsVersion(999)).isEmpty();
+	}
+
 	@Test
 	void shouldFindVets() {
 		Collection<Vet> vets = this.vets.findAll();
@@ -232,6 +334,66 @@ class ClinicServiceTests {
 			.allMatch(value -> value.getId() != null);
 	}
 
+	@Test
+	@Transactional
+	void shouldInsertVisitByPetIdWithoutLoadingOwner() {
+		assertThat(this.visits.countPetOfOwner(6, 7)).isEqualTo(1);
+		assertThat(this.visits.countPetOfOwner(1, 7)).isZero();
+
+		this.visits.insertVisit(7, LocalDate.now(), "test");
+
+		Owner owner6 = this.owners.findWithPetsAndVisitsById(6).orElseThrow();
+		assertThat(owner6.getPet(7).getVisits()).hasSize(3);
+	}
+
+	@Test
+	@Transactional
+	void shouldInsertVisitsAsOneBatch() {
+		assertThat(this.visits.findExistingPetIds(List.of(7, 8, 999))).containsExactlyInAnyOrder(7, 8);
+
+		int[] inserted = this.visits.insertVisits(List.of(new VisitBookingRequest(7, LocalDate.now(), "first"),
+				new VisitBookingRequest(8, LocalDate.now(), "second")));
+
+		assertThat(inserted).hasSize(2);
+		Owner owner6 = this.owners.findWithPetsAndVisitsById(6).orElseThrow();
+		assertThat(owner6.getPet(7).getVisits()).hasSize(3);
+		assertThat(owner6.getPet(8).getVisits()).hasSize(3);
+	}
+
+	@Test
+	@Transactional
+	void shouldInsertOwnersAndPetsAsBatches() {
+		PetType type = this.types.findPetTypes().get(0);
+		Owner sam = new Owner();
+		sam.setFirstName("Sam");
+		sam.setLastName("Schultz");
+		sam.setAddress("4, Evans Street");
+		sam.setCity("Wollongong");
+		sam.setTelephone("4444444444");
+		for (String name : List.of("Bowser", "Rover")) {
+			Pet pet = new Pet();
+			pet.setName(name);
+			pet.setBirthDate(LocalDate.now());
+			pet.setType(type);
+			sam.addPet(pet);
+		}
+		Owner ann = new Owner();
+		ann.setFirstName("Ann");
+		ann.setLastName("Schultz");
+		ann.setAddress("5, Evans Street");
+		ann.setCity("Wollongong");
+		ann.setTelephone("5555555555");
+
+		this.owners.insertOwners(List.of(sam, ann));
+
+		assertThat(sam.getId()).isNotNull();
+		assertThat(ann.getId()).isEqualTo(sam.getId() + 1);
+		Owner saved = this.owners.findWithPetsById(sam.getId()).orElseThrow();
+		assertThat(saved.getPets()).extracting(Pet::getName).containsExactly("Bowser", "Rover");
+		assertThat(saved.getPets()).extracting(pet -> pet.getType().getId()).containsOnly(type.getId());
+		assertThat(this.owners.findWithPetsById(ann.getId()).orElseThrow().getPets()).isEmpty();
+	}
+
 	@Test
 	void shouldFindVisitsByPetId() {
 		Optional<Owner> optionalOwner = this.owners.findById(6);
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.vet.VetRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration test for {@link CacheConfiguration}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+class CacheConfigurationTests {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private VetRepository vets;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void shouldCacheVetPagesApartFromFullList() {
+		this.vets.findAll();
+		this.vets.findAll(PageRequest.of(1, 5));
+
+		Cache vetCache = this.cacheManager.getCache("vets");
+		Cache pageCache = this.cacheManager.getCache("vet-pages");
+		assertThat(vetCache.get(SimpleKey.EMPTY)).isNotNull();
+		assertThat(vetCache.get("1:5")).isNull();
+		assertThat(pageCache.get("1:5")).isNotNull();
+	}
+
+	@Test
+	void shouldPublishCacheStatistics() {
+		this.vets.findAll(PageRequest.of(0, 5));
+		this.vets.findAll(PageRequest.of(0, 5));
+
+		FunctionCounter hits = this.meterRegistry.find("cache.gets")
+			.tag("cache", "vet-pages")
+			.tag("result", "hit")
+			.functionCounter();
+		assertThat(hits).isNotNull();
+		assertThat(hits.count()).isPositive();
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration test for {@link DataGenerator}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE,
+		properties = { "petclinic.datagen.owners=60", "petclinic.datagen.batch-size=25" })
+@ActiveProfiles("datagen")
+class DataGeneratorTests {
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void shouldTopUpOwnersWithPetsAndVisits() {
+		assertThat(this.owners.count()).isEqualTo(60);
+		Integer maxPets = this.jdbcTemplate
+			.queryForObject("SELECT MAX(c) FROM (SELECT COUNT(*) AS c FROM pets GROUP BY owner_id) t", Integer.class);
+		assertThat(maxPets).isBetween(1, 50);
+		Integer visits = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM visits", Integer.class);
+		assertThat(visits).isGreaterThan(4);
+		Integer visitsBeforeBirth = this.jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM visits v JOIN pets p ON p.id = v.pet_id WHERE v.visit_date < p.birth_date",
+				Integer.class);
+		assertThat(visitsBeforeBirth).isZero();
+	}
+
+	@Test
+	void zipfShouldFavourLowRanks() {
+		DataGenerator.Zipf zipf = new DataGenerator.Zipf(10_000, 1.0);
+		SplittableRandom random = new SplittableRandom(42);
+		int[] counts = new int[10_000];
+		IntStream.range(0, 100_000).forEach(i -> counts[zipf.sample(random)]++);
+
+		// Rank 0 is drawn about 10% of the time, twice as often as rank 1
+		assertThat(counts[0]).isBetween(9_000, 11_500);
+		assertThat(counts[1]).isBetween(4_000, 6_000);
+		assertThat(counts[9_999]).isLessThan(10);
+	}
+
+	@Test
+	void geometricShouldRespectMeanAndMaximum() {
+		SplittableRandom random = new SplittableRandom(42);
+		double mean = IntStream.range(0, 100_000)
+			.map(i -> DataGenerator.geometric(random, 4, 200))
+			.peek(count -> assertThat(count).isBetween(0, 200))
+			.average()
+			.orElseThrow();
+
+		assertThat(mean).isBetween(3.8, 4.2);
+		assertThat(DataGenerator.geometric(random, 0, 200)).isZero();
+	}
+
+	@Test
+	void lastNamesShouldBeDistinct() {
+		Set<String> names = new HashSet<>();
+		IntStream.range(0, 10_050).forEach(rank -> names.add(DataGenerator.lastName(rank)));
+
+		assertThat(names).hasSize(10_050);
+		assertThat(names).allMatch(name -> name.length() <= 30);
+	}
+
+}
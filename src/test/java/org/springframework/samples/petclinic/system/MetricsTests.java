@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.OwnerSearchService;
+import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetValidationService;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Integration test for the timers of repositories and services.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+class MetricsTests {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private OwnerSearchService ownerSearchService;
+
+	@Autowired
+	private PetValidationService petValidationService;
+
+	@Test
+	void shouldTimeRepositoryCalls() {
+		this.owners.findById(1);
+
+		Timer timer = this.meterRegistry.find("spring.data.repository.invocations")
+			.tag("repository", "OwnerRepository")
+			.tag("method", "findById")
+			.timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isPositive();
+		assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+	}
+
+	@Test
+	void shouldTagOwnerSearchesWithSearchTypeAndResultSize() {
+		this.ownerSearchService.findSingleOwnersByLastName(1, "Davis");
+
+		Timer timer = this.meterRegistry.find("petclinic.owner.search")
+			.tag("method", "findSingleOwnersByLastName")
+			.tag("search.type", "MULTIPLE_RESULTS")
+			.tag("result.size", "2-5")
+			.timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isPositive();
+		assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+	}
+
+	@Test
+	void shouldTimeOwnerSuggestionsServedFromCache() {
+		long before = suggestionTimerCount();
+
+		this.ownerSearchService.suggestOwners("Franklin");
+		// served from the owner-suggestions cache
+		this.ownerSearchService.suggestOwners("Franklin");
+
+		assertThat(suggestionTimerCount() - before).isEqualTo(2);
+	}
+
+	@Test
+	void shouldObserveServiceCalls() {
+		Pet pet = new Pet();
+		pet.setBirthDate(LocalDate.now());
+		this.petValidationService.validateBirthDate(pet, new BeanPropertyBindingResult(pet, "pet"));
+
+		Timer timer = this.meterRegistry.find("petclinic.pet.validation").tag("method", "validateBirthDate").timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isPositive();
+	}
+
+	private long suggestionTimerCount() {
+		Timer timer = this.meterRegistry.find("petclinic.owner.search")
+			.tag("method", "suggestOwners")
+			.tag("search.type", "SINGLE_RESULT")
+			.timer();
+		return (timer != null) ? timer.count() : 0;
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.api.AbstractLongAssert;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Assertions on the number of SQL statements an action executes, counted by the
+ * {@link StatementCounter}. Needs {@code petclinic.jdbc.statement-count.enabled=true}.
+ * For example, to check that a {@link MockMvc} call issues at most 3 statements:
+ *
+ * <pre class="code">
+ * assertThatStatementCount(() -&gt; mockMvc.perform(get("/owners/6")).andExpect(status().isOk()))
+ * 	.isLessThanOrEqualTo(3);
+ * </pre>
+ *
+ * @author Tech Debt Refactoring Team
+ */
+public final class StatementCountAssertions {
+
+	private StatementCountAssertions() {
+	}
+
+	/**
+	 * Run the given action and assert on the number of statements it executed on the
+	 * current thread.
+	 * @param action the action to run
+	 * @return an assertion on the statement count
+	 * @throws Exception if the action fails
+	 */
+	public static AbstractLongAssert<?> assertThatStatementCount(Action action) throws Exception {
+		assertThat(StatementCounter.isInstalled()).as("statement counting enabled").isTrue();
+		try (StatementCounter.Scope scope = StatementCounter.open()) {
+			action.run();
+			return assertThat(scope.count()).as("SQL statements");
+		}
+	}
+
+	/**
+	 * An action whose statements are counted.
+	 */
+	@FunctionalInterface
+	public interface Action {
+
+		void run() throws Exception;
+
+	}
+
+}
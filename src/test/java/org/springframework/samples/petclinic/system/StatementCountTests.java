@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration test for the per-request statement count of the {@code dev} profile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class StatementCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void shouldReportStatementsOfRequestInHeaderAndMetric() throws Exception {
+		// Version lookup, owner with pets, then the recent visits of the pets
+		this.mockMvc.perform(get("/owners/6"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(StatementCountConfiguration.HEADER, "3"));
+
+		DistributionSummary summary = this.meterRegistry.find(StatementCountConfiguration.METRIC)
+			.tag("method", "GET")
+			.tag("uri", "/owners/{ownerId}")
+			.summary();
+		assertThat(summary).isNotNull();
+		assertThat(summary.count()).isPositive();
+		assertThat(summary.max()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldCountStatementsOfNestedScopesInEveryScope() {
+		try (StatementCounter.Scope outer = StatementCounter.open()) {
+			try (StatementCounter.Scope inner = StatementCounter.open()) {
+				StatementCounter.increment();
+				assertThat(inner.count()).isEqualTo(1);
+			}
+			StatementCounter.increment();
+			assertThat(outer.count()).isEqualTo(2);
+		}
+		StatementCounter.increment();
+	}
+
+}
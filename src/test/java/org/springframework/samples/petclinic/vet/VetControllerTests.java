@@ -94,7 +94,31 @@ class VetControllerTests {
 		ResultActions actions = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
 			.andExpect(status().isOk());
 		actions.andExpect(content().contentType(MediaType.APPLICATION_JSON))
-			.andExpect(jsonPath("$.vetList[0].id").value(1));
+			.andExpect(jsonPath("$.vetList[0].id").value(1))
+			.andExpect(jsonPath("$.vetList[0].version").doesNotExist())
+			.andExpect(header().string("ETag", "W/\"2.0.2\""));
+	}
+
+	@Test
+	void testShowResourcesVetListNotModified() throws Exception {
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON).header("If-None-Match", "W/\"2.0.2\""))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+	}
+
+	@Test
+	void testShowResourcesVetListChangesETagWithServedList() throws Exception {
+		Vet linda = new Vet();
+		linda.setFirstName("Linda");
+		linda.setLastName("Douglas");
+		linda.setId(3);
+		given(this.vets.findAll()).willReturn(Lists.newArrayList(james(), helen(), linda));
+
+		// a copy validated against the previous list gets the new list, with its own ETag
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON).header("If-None-Match", "W/\"2.0.2\""))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.vetList[2].id").value(3))
+			.andExpect(header().string("ETag", "W/\"3.0.3\""));
 	}
 
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import static org.springframework.samples.petclinic.system.StatementCountAssertions.assertThatStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Guards the number of SQL statements issued by the vet pages, so that the eagerly
+ * loaded specialties do not regress to one select per vet.
+ */
+@SpringBootTest(properties = "petclinic.jdbc.statement-count.enabled=true")
+@AutoConfigureMockMvc
+class VetQueryCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void clearVetCaches() {
+		this.cacheManager.getCache("vets").clear();
+		this.cacheManager.getCache("vet-pages").clear();
+	}
+
+	@Test
+	void vetPageLoadsSpecialtiesOfAllVetsAtOnce() throws Exception {
+		// Page, count and the specialties of the five vets on the page
+		assertThatStatementCount(() -> this.mockMvc.perform(get("/vets.html")).andExpect(status().isOk()))
+			.isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void vetResourceLoadsSpecialtiesOfAllVetsAtOnce() throws Exception {
+		assertThatStatementCount(() -> this.mockMvc.perform(get("/vets")).andExpect(status().isOk()))
+			.isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void unchangedVetResourceIsValidatedAgainstCachedList() throws Exception {
+		String etag = this.mockMvc.perform(get("/vets")).andReturn().getResponse().getHeader("ETag");
+		assertThatStatementCount(() -> this.mockMvc.perform(get("/vets").header("If-None-Match", etag))
+			.andExpect(status().isNotModified())).isZero();
+	}
+
+	@Test
+	void vetResourceETagFollowsReloadedList() throws Exception {
+		String etag = this.mockMvc.perform(get("/vets")).andReturn().getResponse().getHeader("ETag");
+		this.cacheManager.getCache("vets").clear();
+		// unchanged data reloaded from the database keeps the ETag of the cached list
+		this.mockMvc.perform(get("/vets").header("If-None-Match", etag)).andExpect(status().isNotModified());
+	}
+
+	@Test
+	void repeatVetPageIsServedFromCache() throws Exception {
+		this.mockMvc.perform(get("/vets.html")).andExpect(status().isOk());
+		assertThatStatementCount(() -> this.mockMvc.perform(get("/vets.html")).andExpect(status().isOk())).isZero();
+	}
+
+}